@@ -3,6 +3,7 @@ package com.kendricklabernetes;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import org.springframework.context.annotation.ImportSelector;
 import org.springframework.core.type.AnnotationMetadata;
@@ -36,6 +37,7 @@ class KendrickLabernetesConfigSelector implements ImportSelector, EnvironmentAwa
  * environment/property (supported values: `h2`, `mongo`, `postgres`).
  */
 @SpringBootApplication
+@EnableScheduling
 @Import(KendrickLabernetesConfigSelector.class)
 public class KendrickLabernetesApplication {
     /**
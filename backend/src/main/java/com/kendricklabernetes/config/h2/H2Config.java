@@ -4,10 +4,26 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.boot.CommandLineRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.kendricklabernetes.repository.h2.QuoteH2Repository;
+import com.kendricklabernetes.events.JdbcQuotePollSource;
+import com.kendricklabernetes.events.PollingQuoteChangeFeed;
+import com.kendricklabernetes.views.JdbcQuoteViewStore;
+import com.kendricklabernetes.idempotency.JdbcIdempotencyStore;
+import com.kendricklabernetes.sampling.JdbcQuoteIdSource;
+import com.kendricklabernetes.snapshot.JdbcSnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.env.Environment;
+import javax.sql.DataSource;
 
 
 @Configuration
@@ -32,4 +48,72 @@ public class H2Config {
             }
         };
     }
+
+    /**
+     * H2 has no push notifications, so replicas sharing an H2 server/file database
+     * poll for quote inserts and deletes. Not created for the default in-memory database,
+     * which no other process can write to.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quotes.change-feed.enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(SharedH2DatabaseCondition.class)
+    public PollingQuoteChangeFeed h2QuoteChangeFeed(JdbcTemplate jdbcTemplate,
+                                                    @Value("${quotes.change-feed.poll-interval-ms:2000}") long intervalMs,
+                                                    ApplicationEventPublisher publisher, MeterRegistry registry) {
+        return new PollingQuoteChangeFeed(new JdbcQuotePollSource(jdbcTemplate, "quoteh2"), intervalMs, publisher, registry);
+    }
+
+    /** Durable per-quote view totals, flushed in batches by QuoteViewService. */
+    @Bean(initMethod = "initialize")
+    public JdbcQuoteViewStore h2QuoteViewStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcQuoteViewStore(jdbcTemplate, false);
+    }
+
+    /** Idempotency-Key records for POST /api/quotes, shared by all replicas. */
+    @Bean(initMethod = "initialize")
+    public JdbcIdempotencyStore h2IdempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    /** Live quote ids for the O(1) random-quote index. */
+    @Bean
+    public JdbcQuoteIdSource h2QuoteIdSource(JdbcTemplate jdbcTemplate) {
+        return new JdbcQuoteIdSource(jdbcTemplate, "quoteh2");
+    }
+
+    /** Bulk read/insert for binary quote snapshots (admin API and warm start). */
+    @Bean
+    public JdbcSnapshotStore h2SnapshotStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcSnapshotStore(jdbcTemplate, "quoteh2");
+    }
+
+    /**
+     * Persistent H2 mode (`quotes.h2.mode=file`): quotes survive restarts and the MVStore
+     * cache, file access and commit buffering are tunable. See {@link H2FileStorage}.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "quotes.h2.mode", havingValue = "file")
+    static class FileMode {
+        @Bean
+        public H2FileStorage h2FileStorage(Environment env) {
+            return new H2FileStorage(env);
+        }
+
+        @Bean
+        public DataSource dataSource(H2FileStorage storage) {
+            log.info("H2 file mode — using {}", storage.jdbcUrl());
+            return DataSourceBuilder.create()
+                .driverClassName("org.h2.Driver")
+                .url(storage.jdbcUrl())
+                .username("sa")
+                .password("")
+                .build();
+        }
+
+        // A file database is not "embedded" to Spring Boot, so it would otherwise get no schema management.
+        @Bean
+        public HibernatePropertiesCustomizer h2FileSchemaUpdate() {
+            return props -> props.putIfAbsent("hibernate.hbm2ddl.auto", "update");
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.kendricklabernetes.config.h2;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Settings for the persistent, file-backed H2 mode ({@code quotes.h2.mode=file}).
+ *
+ * All tuning knobs map onto H2/MVStore URL settings:
+ * - {@code quotes.h2.cache-size-kb}  → {@code CACHE_SIZE} (MVStore page cache, KB)
+ * - {@code quotes.h2.memory-mapped}  → {@code nioMapped:} file system (memory-mapped reads)
+ * - {@code quotes.h2.write-delay-ms} → {@code WRITE_DELAY} (how long commits are buffered before the store is written)
+ * - {@code quotes.h2.compact-on-close-ms} → {@code MAX_COMPACT_TIME} (compaction budget when the database closes)
+ * - {@code quotes.h2.auto-server}    → {@code AUTO_SERVER} (let several processes share the file)
+ */
+public final class H2FileStorage {
+    private final String file;
+    private final int cacheSizeKb;
+    private final boolean memoryMapped;
+    private final int writeDelayMs;
+    private final int compactOnCloseMs;
+    private final boolean autoServer;
+
+    public H2FileStorage(Environment env) {
+        this.file = env.getProperty("quotes.h2.file", "./data/kendrick");
+        this.cacheSizeKb = env.getProperty("quotes.h2.cache-size-kb", Integer.class, 65536);
+        this.memoryMapped = env.getProperty("quotes.h2.memory-mapped", Boolean.class, false);
+        this.writeDelayMs = env.getProperty("quotes.h2.write-delay-ms", Integer.class, 500);
+        this.compactOnCloseMs = env.getProperty("quotes.h2.compact-on-close-ms", Integer.class, 200);
+        this.autoServer = env.getProperty("quotes.h2.auto-server", Boolean.class, false);
+    }
+
+    public String jdbcUrl() {
+        StringBuilder url = new StringBuilder("jdbc:h2:");
+        url.append(memoryMapped ? "nioMapped:" : "file:").append(file);
+        url.append(";CACHE_SIZE=").append(cacheSizeKb);
+        url.append(";WRITE_DELAY=").append(writeDelayMs);
+        url.append(";MAX_COMPACT_TIME=").append(compactOnCloseMs);
+        if (autoServer) url.append(";AUTO_SERVER=TRUE");
+        return url.toString();
+    }
+}
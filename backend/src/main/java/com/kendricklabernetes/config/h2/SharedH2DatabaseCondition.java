@@ -0,0 +1,22 @@
+package com.kendricklabernetes.config.h2;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches when the H2 database can be shared between processes: file mode
+ * ({@code quotes.h2.mode=file}) or an explicit non-{@code mem} datasource URL such as
+ * {@code jdbc:h2:file:...;AUTO_SERVER=TRUE} or {@code jdbc:h2:tcp://...}. The default
+ * in-memory database is private to one JVM, so nothing else can change it.
+ */
+class SharedH2DatabaseCondition implements Condition {
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Environment env = context.getEnvironment();
+        if ("file".equalsIgnoreCase(env.getProperty("quotes.h2.mode", "mem"))) return true;
+        String url = env.getProperty("spring.datasource.url", "");
+        return url.startsWith("jdbc:h2:") && !url.startsWith("jdbc:h2:mem:");
+    }
+}
@@ -9,6 +9,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.kendricklabernetes.repository.mongo.QuoteMongoRepository;
 import org.springframework.core.env.Environment;
+import com.kendricklabernetes.events.MongoQuoteChangeFeed;
+import com.kendricklabernetes.views.MongoQuoteViewStore;
+import com.kendricklabernetes.idempotency.MongoIdempotencyStore;
+import com.kendricklabernetes.sampling.MongoQuoteIdSource;
+import com.kendricklabernetes.snapshot.MongoSnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
 @Configuration
 @Profile("mongo")
@@ -34,4 +44,55 @@ public class MongoConfig {
             }
         };
     }
+
+    /**
+     * Watches the quotes collection with a change stream (polling when the server is standalone).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quotes.change-feed.enabled", havingValue = "true", matchIfMissing = true)
+    public MongoQuoteChangeFeed mongoQuoteChangeFeed(MongoTemplate mongoTemplate,
+                                                     @Value("${quotes.change-feed.poll-interval-ms:2000}") long intervalMs,
+                                                     ApplicationEventPublisher publisher, MeterRegistry registry) {
+        return new MongoQuoteChangeFeed(mongoTemplate.getCollection("quotes"), intervalMs, publisher, registry);
+    }
+
+    /** Durable per-quote view totals, flushed in batches by QuoteViewService. */
+    @Bean
+    public MongoQuoteViewStore mongoQuoteViewStore(MongoTemplate mongoTemplate) {
+        return new MongoQuoteViewStore(mongoTemplate.getCollection("quote_views"));
+    }
+
+    /** Idempotency-Key records for POST /api/quotes; expired by a TTL index. */
+    @Bean
+    public MongoIdempotencyStore mongoIdempotencyStore(MongoTemplate mongoTemplate,
+                                                       @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        return new MongoIdempotencyStore(mongoTemplate.getCollection("idempotency_keys"), ttlSeconds);
+    }
+
+    /** Live quote ids for the random-quote index, with {@code $sample} as the fallback. */
+    @Bean
+    public MongoQuoteIdSource mongoQuoteIdSource(MongoTemplate mongoTemplate) {
+        return new MongoQuoteIdSource(mongoTemplate.getCollection("quotes"));
+    }
+
+    /** Bulk read/insert for binary quote snapshots (admin API and warm start). */
+    @Bean
+    public MongoSnapshotStore mongoSnapshotStore(MongoTemplate mongoTemplate) {
+        return new MongoSnapshotStore(mongoTemplate.getCollection("quotes"));
+    }
+
+    /** Read preference, write concern, cursor batch size and public projection for quote operations. */
+    @Bean
+    public MongoQuoteTuning mongoQuoteTuning(@Value("${quotes.mongo.read-preference:primary}") String readPreference,
+                                             @Value("${quotes.mongo.max-staleness-seconds:90}") long maxStalenessSeconds,
+                                             @Value("${quotes.mongo.write-concern:majority}") String writeConcern,
+                                             @Value("${quotes.mongo.journal:true}") boolean journal,
+                                             @Value("${quotes.mongo.wtimeout-ms:5000}") long wtimeoutMs,
+                                             @Value("${quotes.mongo.batch-size:500}") int batchSize,
+                                             @Value("${quotes.mongo.public-projection.exclude-ip:true}") boolean excludeIp) {
+        MongoQuoteTuning tuning = MongoQuoteTuning.of(readPreference, maxStalenessSeconds, writeConcern, journal,
+            wtimeoutMs, batchSize, excludeIp);
+        log.info("Mongo quote operations: {}", tuning);
+        return tuning;
+    }
 }
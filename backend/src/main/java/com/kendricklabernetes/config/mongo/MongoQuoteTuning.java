@@ -0,0 +1,64 @@
+package com.kendricklabernetes.config.mongo;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TagSet;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.model.Projections;
+import org.bson.conversions.Bson;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation settings for the quote collection ({@code quotes.mongo.*}), applied by the
+ * quote repository instead of the connection-string defaults:
+ * - public reads use {@link #readPreference} (primary by default; secondaries with a
+ *   max-staleness bound are opt-in), the cursor {@link #batchSize}, and a projection that drops {@code ip}
+ * - inserts use {@link #writeConcern}, with its w, journaling and wtimeout
+ */
+public final class MongoQuoteTuning {
+    private final ReadPreference readPreference;
+    private final WriteConcern writeConcern;
+    private final int batchSize;
+    private final Bson publicProjection;
+
+    public MongoQuoteTuning(ReadPreference readPreference, WriteConcern writeConcern, int batchSize, boolean excludeIp) {
+        if (batchSize < 0) throw new IllegalArgumentException("quotes.mongo.batch-size must not be negative");
+        this.readPreference = readPreference;
+        this.writeConcern = writeConcern;
+        this.batchSize = batchSize;
+        this.publicProjection = excludeIp ? Projections.exclude("ip") : null;
+    }
+
+    /**
+     * Build from property values.
+     *
+     * @param mode              read preference name, e.g. {@code secondaryPreferred} or {@code primary}
+     * @param maxStalenessSecs  staleness bound for non-primary modes; 0 or less means none
+     *                          (the server requires at least 90 seconds)
+     * @param w                 {@code majority} or a number of acknowledging members
+     */
+    public static MongoQuoteTuning of(String mode, long maxStalenessSecs, String w, boolean journal,
+                                      long wtimeoutMs, int batchSize, boolean excludeIp) {
+        ReadPreference rp = ReadPreference.valueOf(mode);
+        if (maxStalenessSecs > 0 && !rp.equals(ReadPreference.primary())) {
+            rp = ReadPreference.valueOf(mode, java.util.List.<TagSet>of(), maxStalenessSecs, TimeUnit.SECONDS);
+        }
+        WriteConcern wc = w.matches("\\d+") ? new WriteConcern(Integer.parseInt(w)) : new WriteConcern(w);
+        wc = wc.withJournal(journal);
+        if (wtimeoutMs > 0) wc = wc.withWTimeout(wtimeoutMs, TimeUnit.MILLISECONDS);
+        return new MongoQuoteTuning(rp, wc, batchSize, excludeIp);
+    }
+
+    public ReadPreference readPreference() { return readPreference; }
+    public WriteConcern writeConcern() { return writeConcern; }
+    /** Documents per cursor batch; 0 leaves the server default. */
+    public int batchSize() { return batchSize; }
+    /** Projection for reads served to API clients, or null for whole documents. */
+    public Bson publicProjection() { return publicProjection; }
+
+    @Override
+    public String toString() {
+        return "readPreference=" + readPreference + ", writeConcern=" + writeConcern.asDocument().toJson()
+            + ", batchSize=" + batchSize + ", excludeIp=" + (publicProjection != null);
+    }
+}
@@ -8,11 +8,26 @@ import org.springframework.boot.CommandLineRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.kendricklabernetes.repository.h2.QuoteH2Repository;
+import com.kendricklabernetes.events.PostgresQuoteChangeFeed;
+import com.kendricklabernetes.views.JdbcQuoteViewStore;
+import com.kendricklabernetes.idempotency.JdbcIdempotencyStore;
+import com.kendricklabernetes.sampling.JdbcQuoteIdSource;
+import com.kendricklabernetes.snapshot.JdbcSnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 
 
 @Configuration
 @Profile("postgres")
-@EnableJpaRepositories(basePackages = "com.kendricklabernetes.repository.h2")
+@EnableJpaRepositories(basePackages = {"com.kendricklabernetes.repository.h2", "com.kendricklabernetes.repository.postgres"})
 public class PostgresConfig {
     private static final Logger log = LoggerFactory.getLogger(PostgresConfig.class);
 
@@ -32,4 +47,83 @@ public class PostgresConfig {
             }
         };
     }
+
+    /**
+     * Pushes quote inserts/deletes from any replica to this pod via a trigger and LISTEN/NOTIFY.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quotes.change-feed.enabled", havingValue = "true", matchIfMissing = true)
+    public PostgresQuoteChangeFeed postgresQuoteChangeFeed(DataSource dataSource,
+                                                           @Value("${quotes.change-feed.postgres-table:quote_postgres}") String table,
+                                                           ApplicationEventPublisher publisher, MeterRegistry registry) {
+        return new PostgresQuoteChangeFeed(dataSource, table, publisher, registry);
+    }
+
+    /** Durable per-quote view totals, flushed in batches by QuoteViewService. */
+    @Bean(initMethod = "initialize")
+    public JdbcQuoteViewStore postgresQuoteViewStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcQuoteViewStore(jdbcTemplate, true);
+    }
+
+    /** Idempotency-Key records for POST /api/quotes, shared by all replicas. */
+    @Bean(initMethod = "initialize")
+    public JdbcIdempotencyStore postgresIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    /** Live quote ids for the O(1) random-quote index. */
+    @Bean
+    public JdbcQuoteIdSource postgresQuoteIdSource(JdbcTemplate jdbcTemplate) {
+        return new JdbcQuoteIdSource(jdbcTemplate, "quote_postgres");
+    }
+
+    /** Bulk read/insert for binary quote snapshots (admin API and warm start). */
+    @Bean
+    public JdbcSnapshotStore postgresSnapshotStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcSnapshotStore(jdbcTemplate, "quote_postgres");
+    }
+
+    /**
+     * Monthly range-partitioned quote table (`quotes.postgres.partitioning.enabled=true`).
+     * See {@link QuotePartitionManager}.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "quotes.postgres.partitioning.enabled", havingValue = "true")
+    static class Partitioning {
+        // The partitioned parent must exist before Hibernate's ddl update would create a plain table.
+        @Bean
+        static EntityManagerFactoryDependsOnPostProcessor quotePartitionsBeforeJpa() {
+            return new EntityManagerFactoryDependsOnPostProcessor("quotePartitionManager");
+        }
+
+        @Bean(initMethod = "initialize")
+        public QuotePartitionManager quotePartitionManager(JdbcTemplate jdbcTemplate,
+                                                           @Value("${quotes.postgres.partitioning.months-ahead:3}") int monthsAhead,
+                                                           @Value("${quotes.postgres.partitioning.retention-months:0}") int retentionMonths,
+                                                           @Value("${quotes.postgres.partitioning.archive-schema:quote_archive}") String archiveSchema) {
+            return new QuotePartitionManager(jdbcTemplate, "quote_postgres", monthsAhead, retentionMonths, archiveSchema);
+        }
+
+        @Bean
+        PartitionMaintenance quotePartitionMaintenance(QuotePartitionManager manager) {
+            return new PartitionMaintenance(manager);
+        }
+    }
+
+    static class PartitionMaintenance {
+        private final QuotePartitionManager manager;
+
+        PartitionMaintenance(QuotePartitionManager manager) {
+            this.manager = manager;
+        }
+
+        @Scheduled(cron = "${quotes.postgres.partitioning.maintenance-cron:0 15 3 * * *}", zone = "UTC")
+        public void maintain() {
+            try {
+                manager.maintain(YearMonth.now(ZoneOffset.UTC));
+            } catch (Exception e) {
+                log.warn("Quote partition maintenance failed: {}", e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,254 @@
+package com.kendricklabernetes.config.postgres;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monthly range partitioning of the Postgres quote table
+ * ({@code quotes.postgres.partitioning.enabled=true}).
+ *
+ * The parent table is created before Hibernate's schema update runs. It is partitioned by
+ * a {@code created_at timestamptz} column that defaults to {@code now()}, so the entity and
+ * every insert path stay unchanged. Besides the monthly partitions named
+ * {@code <table>_pYYYYMM}, a DEFAULT partition catches rows when maintenance falls behind.
+ * Maintenance:
+ * - creates the current month plus {@code months-ahead} future partitions, each in its own
+ *   transaction so one failing month does not roll back the others
+ * - also creates the months the DEFAULT partition holds rows for, e.g. history copied in by a
+ *   snapshot restore or migration (those set {@code created_at} from the quote's timestamp)
+ * - moves rows the DEFAULT partition already holds for a new month into it (Postgres refuses
+ *   to create a partition whose range overlaps rows in DEFAULT)
+ * - with {@code retention-months > 0}, detaches older partitions and moves them into the
+ *   {@code archive-schema}, where they can be dumped or dropped in bulk
+ *
+ * Every DDL transaction takes an advisory lock, so replicas can all run maintenance safely.
+ */
+public class QuotePartitionManager {
+    private static final Logger log = LoggerFactory.getLogger(QuotePartitionManager.class);
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final JdbcTemplate jdbc;
+    private final String table;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+    private final Pattern monthlyName;
+    private volatile boolean active;
+
+    public QuotePartitionManager(JdbcTemplate jdbc, String table, int monthsAhead, int retentionMonths,
+                                 String archiveSchema) {
+        if (!IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid partitioned table or archive schema name");
+        }
+        this.jdbc = jdbc;
+        this.table = table;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+        this.monthlyName = Pattern.compile(Pattern.quote(table) + "_p(\\d{4})(\\d{2})");
+    }
+
+    /** True once the quote table is known to be partitioned. */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Create the partitioned parent (if missing) and the partitions around the current month.
+     * An existing non-partitioned table is left untouched and partitioning stays off; move
+     * its rows with the migration API into a fresh database instead.
+     */
+    public void initialize() {
+        String kind = jdbc.query("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)",
+            rs -> rs.next() ? rs.getString(1) : null, table);
+        if ("r".equals(kind)) {
+            log.error("Table {} already exists without partitioning; quote partitioning stays disabled", table);
+            return;
+        }
+        inLockedTransaction(st -> {
+            if (kind == null) {
+                st.execute("CREATE TABLE " + table + " ("
+                    + "id BIGSERIAL NOT NULL, quote VARCHAR(255), timestamp VARCHAR(255), ip VARCHAR(255), "
+                    + "quote_number INTEGER NOT NULL, created_at TIMESTAMPTZ NOT NULL DEFAULT now(), "
+                    + "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)");
+                log.info("Created partitioned table {}", table);
+            }
+            st.execute("CREATE INDEX IF NOT EXISTS " + table + "_created_at_idx ON " + table + " (created_at)");
+            st.execute("CREATE INDEX IF NOT EXISTS " + table + "_quote_number_idx ON " + table + " (quote_number)");
+            st.execute("CREATE TABLE IF NOT EXISTS " + table + "_default PARTITION OF " + table + " DEFAULT");
+            return null;
+        });
+        active = true;
+        maintain(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    /** Outcome of one {@link #maintain(YearMonth)} run, returned as-is by the admin API. */
+    public static final class MaintenanceResult {
+        private final List<String> created = new ArrayList<>();
+        private final Map<String, Integer> movedFromDefault = new LinkedHashMap<>();
+        private final Map<String, String> failed = new LinkedHashMap<>();
+
+        public List<String> getCreated() { return created; }
+        /** Rows moved out of the DEFAULT partition, per created partition. */
+        public Map<String, Integer> getMovedFromDefault() { return movedFromDefault; }
+        /** Error message per partition that could not be created. */
+        public Map<String, String> getFailed() { return failed; }
+    }
+
+    /** Create upcoming partitions and those for months stranded in DEFAULT, month by month, then apply retention. */
+    public MaintenanceResult maintain(YearMonth now) {
+        MaintenanceResult result = new MaintenanceResult();
+        if (!active) return result;
+        SortedSet<YearMonth> months = new TreeSet<>(monthsInDefault());
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(now.plusMonths(i));
+        }
+        for (YearMonth month : months) {
+            String name = partitionName(month);
+            try {
+                Integer moved = inLockedTransaction(st -> exists(st, name) ? null : createPartition(st, month));
+                if (moved == null) continue;
+                result.created.add(name);
+                if (moved > 0) result.movedFromDefault.put(name, moved);
+            } catch (RuntimeException e) {
+                log.warn("Could not create quote partition {}: {}", name, e.getMessage());
+                result.failed.put(name, String.valueOf(e.getMessage()));
+            }
+        }
+        if (!result.created.isEmpty()) log.info("Created quote partitions {}", result.created);
+        if (retentionMonths > 0) {
+            detachOlderThan(now.minusMonths(retentionMonths), true);
+        }
+        return result;
+    }
+
+    private List<YearMonth> monthsInDefault() {
+        return jdbc.query("SELECT DISTINCT to_char(created_at AT TIME ZONE 'UTC', 'YYYY-MM') FROM " + table + "_default",
+            (rs, n) -> YearMonth.parse(rs.getString(1)));
+    }
+
+    /**
+     * Create the partition for {@code month}; returns how many rows were moved into it from DEFAULT.
+     * Those rows make a plain CREATE ... PARTITION OF fail, so DEFAULT is detached while they move.
+     */
+    private int createPartition(Statement st, YearMonth month) throws SQLException {
+        String defaultPartition = table + "_default";
+        String inMonth = " WHERE created_at >= '" + lowerBound(month)
+            + "' AND created_at < '" + lowerBound(month.plusMonths(1)) + "'";
+        int stray;
+        try (var rs = st.executeQuery("SELECT count(*) FROM " + defaultPartition + inMonth)) {
+            stray = rs.next() ? rs.getInt(1) : 0;
+        }
+        if (stray == 0) {
+            st.execute(createPartitionSql(month));
+            return 0;
+        }
+        st.execute("ALTER TABLE " + table + " DETACH PARTITION " + defaultPartition);
+        st.execute(createPartitionSql(month));
+        st.executeUpdate("INSERT INTO " + table + " SELECT * FROM " + defaultPartition + inMonth);
+        st.executeUpdate("DELETE FROM " + defaultPartition + inMonth);
+        st.execute("ALTER TABLE " + table + " ATTACH PARTITION " + defaultPartition + " DEFAULT");
+        log.info("Moved {} quotes from {} into {}", stray, defaultPartition, partitionName(month));
+        return stray;
+    }
+
+    /**
+     * Detach every monthly partition that ends on or before the start of {@code cutoff}.
+     * With {@code archive}, detached tables are moved into the archive schema.
+     */
+    public List<String> detachOlderThan(YearMonth cutoff, boolean archive) {
+        if (!active) throw new IllegalStateException("Quote partitioning is not active");
+        List<String> detached = inLockedTransaction(st -> {
+            List<String> names = new ArrayList<>();
+            if (archive) st.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            for (Map<String, Object> p : partitions()) {
+                YearMonth month = monthOf((String) p.get("name"));
+                if (month == null || !month.isBefore(cutoff)) continue;
+                String name = (String) p.get("name");
+                st.execute("ALTER TABLE " + table + " DETACH PARTITION " + name);
+                if (archive) st.execute("ALTER TABLE " + name + " SET SCHEMA " + archiveSchema);
+                names.add(archive ? archiveSchema + "." + name : name);
+            }
+            return names;
+        });
+        if (!detached.isEmpty()) log.info("Detached quote partitions {}", detached);
+        return detached;
+    }
+
+    /** Attached partitions with their bounds and planner row estimates. */
+    public List<Map<String, Object>> partitions() {
+        return jdbc.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), c.reltuples::bigint, "
+                + "pg_total_relation_size(c.oid) FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+            (rs, n) -> {
+                Map<String, Object> p = new LinkedHashMap<>();
+                p.put("name", rs.getString(1));
+                p.put("bounds", rs.getString(2));
+                p.put("estimatedRows", Math.max(0, rs.getLong(3)));
+                p.put("bytes", rs.getLong(4));
+                return p;
+            }, table);
+    }
+
+    String partitionName(YearMonth month) {
+        return String.format("%s_p%04d%02d", table, month.getYear(), month.getMonthValue());
+    }
+
+    String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE " + partitionName(month) + " PARTITION OF " + table
+            + " FOR VALUES FROM ('" + lowerBound(month) + "') TO ('" + lowerBound(month.plusMonths(1)) + "')";
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+
+    /** Month encoded in a monthly partition name, or null for the default/foreign partitions. */
+    YearMonth monthOf(String partition) {
+        Matcher m = monthlyName.matcher(partition);
+        return m.matches() ? YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))) : null;
+    }
+
+    private static boolean exists(Statement st, String name) throws SQLException {
+        try (var rs = st.executeQuery("SELECT to_regclass('" + name + "') IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private interface Ddl<T> {
+        T run(Statement st) throws SQLException;
+    }
+
+    private <T> T inLockedTransaction(Ddl<T> ddl) {
+        return jdbc.execute((ConnectionCallback<T>) conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                st.execute("SELECT pg_advisory_xact_lock(hashtext('kl_partitions_" + table + "'))");
+                T result = ddl.run(st);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        });
+    }
+}
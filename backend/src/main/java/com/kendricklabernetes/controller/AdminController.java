@@ -1,10 +1,17 @@
 package com.kendricklabernetes.controller;
 
+import com.kendricklabernetes.config.postgres.QuotePartitionManager;
+import com.kendricklabernetes.migration.MigrationJob;
+import com.kendricklabernetes.migration.MigrationService;
+import com.kendricklabernetes.snapshot.SnapshotService;
+import com.kendricklabernetes.tracing.Tracer;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
 import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +26,18 @@ public class AdminController {
 
     private static final AtomicReference<String> requestedDbType = new AtomicReference<>(null);
 
+    @Autowired
+    private MigrationService migrationService;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private ObjectProvider<QuotePartitionManager> partitionManager;
+
     @PostMapping("/set-db-type")
     public ResponseEntity<?> setDbType(@RequestBody Map<String, String> body) {
         String dbType = body.get("dbType");
@@ -43,7 +62,7 @@ public class AdminController {
              ResultSet rs = st.executeQuery("SELECT 1")) {
             return ResponseEntity.ok(Map.of("ok", true));
         } catch (SQLException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
         }
     }
 
@@ -77,7 +96,7 @@ public class AdminController {
             }
             return ResponseEntity.ok(Map.of("rows", rows));
         } catch (SQLException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
         }
     }
 
@@ -92,7 +111,7 @@ public class AdminController {
             Document res = adminDb.runCommand(new Document("ping", 1));
             return ResponseEntity.ok(Map.of("ok", true, "result", res.toJson()));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
         }
     }
 
@@ -114,8 +133,184 @@ public class AdminController {
             }
             return ResponseEntity.ok(Map.of("documents", docs));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Start (or resume, when `jobId` has a checkpoint) a chunked migration between two stores.
+     * Body: `{ "source": {type, connectionString, ...}, "target": {...}, "chunkSize", "workers", "jobId" }`.
+     */
+    @PostMapping("/migrations")
+    public ResponseEntity<?> startMigration(@RequestBody Map<String, Object> body) {
+        try {
+            MigrationJob job = migrationService.start(body);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.status());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @GetMapping("/migrations")
+    public ResponseEntity<?> listMigrations() {
+        return ResponseEntity.ok(Map.of("jobs", migrationService.list()));
+    }
+
+    @GetMapping("/migrations/{id}")
+    public ResponseEntity<?> migrationStatus(@PathVariable("id") String id) {
+        MigrationJob job = migrationService.get(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Unknown migration job: " + id));
+        }
+        return ResponseEntity.ok(job.status());
+    }
+
+    @PostMapping("/migrations/{id}/cancel")
+    public ResponseEntity<?> cancelMigration(@PathVariable("id") String id) {
+        MigrationJob job = migrationService.get(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Unknown migration job: " + id));
+        }
+        job.cancel();
+        return ResponseEntity.ok(job.status());
+    }
+
+    /**
+     * Recently sampled request traces (newest first) and the slowest traces seen so far.
+     */
+    @GetMapping("/traces")
+    public ResponseEntity<?> traces(@RequestParam(name = "limit", defaultValue = "50") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be positive"));
+        }
+        return ResponseEntity.ok(tracer.snapshot(limit));
+    }
+
+    /**
+     * Change the trace sampling rate at runtime. Body: `{ "sampleRate": 0.05 }`.
+     */
+    @PostMapping("/traces/sample-rate")
+    public ResponseEntity<?> setTraceSampleRate(@RequestBody Map<String, Object> body) {
+        Object rate = body.get("sampleRate");
+        if (rate == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "sampleRate is required"));
+        }
+        try {
+            tracer.setSampleRate(Double.parseDouble(rate.toString()));
+            return ResponseEntity.ok(Map.of("sampleRate", tracer.getSampleRate()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @DeleteMapping("/traces")
+    public ResponseEntity<?> clearTraces() {
+        tracer.clear();
+        return ResponseEntity.ok(Map.of("message", "Traces cleared"));
+    }
+
+    /**
+     * Write all quotes of the active store to a binary snapshot. Body: `{ "name": "nightly" }` (optional).
+     */
+    @PostMapping("/snapshots")
+    public ResponseEntity<?> createSnapshot(@RequestBody(required = false) Map<String, String> body) {
+        String name = body != null && body.get("name") != null ? body.get("name")
+            : "quotes-" + java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(snapshotService.create(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @GetMapping("/snapshots")
+    public ResponseEntity<?> listSnapshots() {
+        try {
+            return ResponseEntity.ok(Map.of("snapshots", snapshotService.list()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Bulk-load a snapshot into the active store. Refused with 409 when the store is not empty.
+     */
+    @PostMapping("/snapshots/{name}/restore")
+    public ResponseEntity<?> restoreSnapshot(@PathVariable("name") String name) {
+        try {
+            return ResponseEntity.ok(snapshotService.restore(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", String.valueOf(e.getMessage())));
+        } catch (java.nio.file.NoSuchFileException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Unknown snapshot: " + name));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /** Attached monthly partitions of the Postgres quote table, with bounds and sizes. */
+    @GetMapping("/partitions")
+    public ResponseEntity<?> listPartitions() {
+        QuotePartitionManager manager = partitionManager.getIfAvailable();
+        if (manager == null || !manager.isActive()) return partitioningUnavailable();
+        try {
+            return ResponseEntity.ok(Map.of("partitions", manager.partitions()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
         }
     }
 
+    /** Run partition maintenance now (create upcoming months, apply retention); 500 lists the months that failed. */
+    @PostMapping("/partitions/maintain")
+    public ResponseEntity<?> maintainPartitions() {
+        QuotePartitionManager manager = partitionManager.getIfAvailable();
+        if (manager == null || !manager.isActive()) return partitioningUnavailable();
+        try {
+            QuotePartitionManager.MaintenanceResult result = manager.maintain(java.time.YearMonth.now(java.time.ZoneOffset.UTC));
+            return ResponseEntity.status(result.getFailed().isEmpty() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Detach monthly partitions before a month in one go. Body: `{ "olderThan": "2024-01", "archive": true }`;
+     * with `archive` (default) the detached tables move to the archive schema instead of staying in public.
+     */
+    @PostMapping("/partitions/detach")
+    public ResponseEntity<?> detachPartitions(@RequestBody Map<String, Object> body) {
+        QuotePartitionManager manager = partitionManager.getIfAvailable();
+        if (manager == null || !manager.isActive()) return partitioningUnavailable();
+        java.time.YearMonth cutoff;
+        try {
+            cutoff = java.time.YearMonth.parse(String.valueOf(body.get("olderThan")));
+        } catch (java.time.format.DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "olderThan must be a month, e.g. 2024-01"));
+        }
+        if (!cutoff.isBefore(java.time.YearMonth.now(java.time.ZoneOffset.UTC))) {
+            return ResponseEntity.badRequest().body(Map.of("error", "olderThan must be before the current month"));
+        }
+        boolean archive = !Boolean.FALSE.equals(body.get("archive")) && !"false".equals(body.get("archive"));
+        try {
+            return ResponseEntity.ok(Map.of("detached", manager.detachOlderThan(cutoff, archive)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private static ResponseEntity<?> partitioningUnavailable() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(Map.of("error", "Quote partitioning is not active (DB_TYPE=postgres and quotes.postgres.partitioning.enabled=true)"));
+    }
 }
@@ -11,10 +11,15 @@ import com.kendricklabernetes.model.postgres.QuotePostgres;
 import com.kendricklabernetes.repository.mongo.QuoteMongoRepository;
 import com.kendricklabernetes.repository.h2.QuoteH2Repository;
 import com.kendricklabernetes.repository.postgres.QuotePostgresRepository;
+import com.kendricklabernetes.resilience.StoreGuard;
+import com.kendricklabernetes.resilience.StoreGuards;
 import org.springframework.dao.DataAccessResourceFailureException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.InetAddress;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -36,13 +41,31 @@ public class QuoteController {
     @Autowired
     private com.kendricklabernetes.prometheus.QuoteMetricsService quoteMetricsService;
     @Autowired
+    private com.kendricklabernetes.views.QuoteViewService quoteViewService;
+    @Autowired
+    private StoreGuards storeGuards;
+    @Autowired
+    private com.kendricklabernetes.idempotency.IdempotencyService idempotencyService;
+    @Autowired
+    private com.kendricklabernetes.sampling.RandomQuoteService randomQuoteService;
+    @Autowired
+    private com.kendricklabernetes.tracing.Tracer tracer;
+    @Autowired
     private org.springframework.core.env.Environment env;
     @Autowired
     private org.springframework.context.ApplicationContext ctx;
 
     @PostMapping("/quotes")
-    public ResponseEntity<?> addQuote(@RequestBody Map<String, String> payload, HttpServletRequest request) {
+    public ResponseEntity<?> addQuote(@RequestBody Map<String, String> payload, HttpServletRequest request,
+                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         logger.info("addQuote called with payload: {}", payload);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return idempotencyService.execute(idempotencyKey.trim(), payload, () -> saveQuote(payload, request));
+        }
+        return saveQuote(payload, request);
+    }
+
+    private ResponseEntity<?> saveQuote(Map<String, String> payload, HttpServletRequest request) {
         String dbType = resolveDbType();
         if ("mongo".equalsIgnoreCase(dbType)) {
             QuoteMongoRepository repo = null;
@@ -66,19 +89,18 @@ public class QuoteController {
                 quote.setQuoteNumber(getNextQuoteNumber());
                 try {
                     logger.info("Attempting to save new quote to MongoDB: {}", quote.getQuote());
-                    QuoteMongo saved = repo.save(quote);
+                    QuoteMongo saved = repo.insertTuned(quote);
                     quoteMetricsService.incrementMongoCreate();
                     logger.info("Saved quote to MongoDB with id: {}", saved.getId());
+                    randomQuoteService.added(String.valueOf(saved.getId()));
                     return ResponseEntity.ok(saved);
                 } catch (Exception e) {
                     logger.error("Failed to save quote to MongoDB: {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to save quote: " + e.getMessage()));
+                    return failureResponse("Failed to save quote: ", e);
                 }
             } catch (Exception e) {
                 logger.error("Exception in addQuote (Mongo): {}", e.getMessage(), e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(errorResponse("Failed to save quote: " + e.getMessage()));
+                return failureResponse("Failed to save quote: ", e);
             }
         } else if ("postgres".equalsIgnoreCase(dbType) || "h2".equalsIgnoreCase(dbType)) {
             if ("postgres".equalsIgnoreCase(dbType)) {
@@ -103,11 +125,11 @@ public class QuoteController {
                     QuotePostgres saved = repo.save(quote);
                     quoteMetricsService.incrementPostgresCreate();
                     logger.info("Saved quote to POSTGRES with id: {}", saved.getId());
+                    randomQuoteService.added(String.valueOf(saved.getId()));
                     return ResponseEntity.ok(saved);
                 } catch (Exception e) {
                     logger.error("Exception in addQuote (postgres): {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to save quote: " + e.getMessage()));
+                    return failureResponse("Failed to save quote: ", e);
                 }
             } else {
                 // H2/JPA path (embedded H2 database)
@@ -132,11 +154,11 @@ public class QuoteController {
                     QuoteH2 saved = repo.save(quote);
                     quoteMetricsService.incrementH2Create();
                     logger.info("Saved quote to H2 with id: {}", saved.getId());
+                    randomQuoteService.added(String.valueOf(saved.getId()));
                     return ResponseEntity.ok(saved);
                 } catch (Exception e) {
                     logger.error("Exception in addQuote (h2): {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to save quote: " + e.getMessage()));
+                    return failureResponse("Failed to save quote: ", e);
                 }
             }
         } else {
@@ -160,25 +182,19 @@ public class QuoteController {
                     .body(errorResponse("MongoDB connection unavailable at configured URL."));
             }
             try {
-                long count = repo.count();
-                logger.info("MongoDB quote count: {}", count);
-                if (count == 0) {
-                    logger.info("No quotes found in MongoDB");
-                    return ResponseEntity.ok().body(null);
-                }
                 QuoteMongo latest = null;
                 try {
-                    logger.info("Fetching all quotes from MongoDB to compute latest");
-                    latest = repo.findAll()
-                        .stream()
-                        .max((a, b) -> Integer.compare(a.getQuoteNumber(), b.getQuoteNumber()))
-                        .orElse(null);
+                    latest = repo.findLatestPublic().orElse(null);
+                    if (latest == null) {
+                        logger.info("No quotes found in MongoDB");
+                        return ResponseEntity.ok().body(null);
+                    }
                     quoteMetricsService.incrementMongoRead();
+                    if (latest != null) quoteViewService.recordView(latest.getQuoteNumber());
                     logger.info("Fetched latest quote from MongoDB: {}", latest);
                 } catch (Exception e) {
                     logger.error("Failed to fetch latest quote from MongoDB: {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to fetch latest quote: " + e.getMessage()));
+                    return failureResponse("Failed to fetch latest quote: ", e);
                 }
                 return ResponseEntity.ok(latest);
             } catch (DataAccessResourceFailureException ex) {
@@ -187,8 +203,7 @@ public class QuoteController {
                     .body(errorResponse("MongoDB connection unavailable at configured URL."));
             } catch (Exception ex) {
                 logger.error("Unexpected error during MongoDB read: {}", ex.getMessage(), ex);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(errorResponse("Unexpected error: " + ex.getMessage()));
+                return failureResponse("Unexpected error: ", ex);
             }
         } else if ("postgres".equalsIgnoreCase(dbType) || "h2".equalsIgnoreCase(dbType)) {
             if ("postgres".equalsIgnoreCase(dbType)) {
@@ -199,20 +214,23 @@ public class QuoteController {
                         .body(errorResponse("Postgres repository unavailable."));
                 }
                 try {
-                    long count = repo.count();
-                    logger.info("POSTGRES quote count: {}", count);
-                    if (count == 0) return ResponseEntity.ok().body(null);
-                    QuotePostgres latest = repo.findAll()
-                        .stream()
-                        .max((a, b) -> Integer.compare(a.getQuoteNumber(), b.getQuoteNumber()))
-                        .orElse(null);
+                    QuotePostgres latest = findLatestInRecentPartitions(repo);
+                    if (latest == null) {
+                        long count = repo.count();
+                        logger.info("POSTGRES quote count: {}", count);
+                        if (count == 0) return ResponseEntity.ok().body(null);
+                        latest = repo.findAll()
+                            .stream()
+                            .max((a, b) -> Integer.compare(a.getQuoteNumber(), b.getQuoteNumber()))
+                            .orElse(null);
+                    }
                     quoteMetricsService.incrementPostgresRead();
+                    if (latest != null) quoteViewService.recordView(latest.getQuoteNumber());
                     logger.info("Fetched latest quote from POSTGRES: {}", latest);
                     return ResponseEntity.ok(latest);
                 } catch (Exception e) {
                     logger.error("Exception in getLatestQuote (postgres): {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to fetch latest quote: " + e.getMessage()));
+                    return failureResponse("Failed to fetch latest quote: ", e);
                 }
             } else {
                 QuoteH2Repository repo = getJpaRepo();
@@ -230,12 +248,12 @@ public class QuoteController {
                         .max((a, b) -> Integer.compare(a.getQuoteNumber(), b.getQuoteNumber()))
                         .orElse(null);
                     quoteMetricsService.incrementH2Read();
+                    if (latest != null) quoteViewService.recordView(latest.getQuoteNumber());
                     logger.info("Fetched latest quote from H2: {}", latest);
                     return ResponseEntity.ok(latest);
                 } catch (Exception e) {
                     logger.error("Exception in getLatestQuote (h2): {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to fetch latest quote: " + e.getMessage()));
+                    return failureResponse("Failed to fetch latest quote: ", e);
                 }
             }
         } else {
@@ -245,6 +263,119 @@ public class QuoteController {
         }
     }
 
+    /**
+     * Quotes created in `[from, to)` (ISO-8601 instants), newest first. Postgres with
+     * `quotes.postgres.partitioning.enabled` only: the bounds prune the scan to the
+     * monthly partitions the range touches.
+     */
+    @GetMapping("/quotes/range")
+    public ResponseEntity<?> getQuotesInRange(@RequestParam("from") String from,
+                                              @RequestParam(name = "to", required = false) String to,
+                                              @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        logger.info("getQuotesInRange called from={} to={} limit={}", from, to, limit);
+        com.kendricklabernetes.config.postgres.QuotePartitionManager partitions = getPartitionManager();
+        if (!"postgres".equalsIgnoreCase(resolveDbType()) || partitions == null || !partitions.isActive()) {
+            return ResponseEntity.badRequest()
+                .body(errorResponse("Range queries need DB_TYPE=postgres with quotes.postgres.partitioning.enabled=true"));
+        }
+        if (limit < 1 || limit > 1000) {
+            return ResponseEntity.badRequest().body(errorResponse("limit must be between 1 and 1000"));
+        }
+        OffsetDateTime fromTime;
+        OffsetDateTime toTime;
+        try {
+            fromTime = Instant.parse(from).atOffset(ZoneOffset.UTC);
+            toTime = to == null || to.isBlank() ? OffsetDateTime.now(ZoneOffset.UTC) : Instant.parse(to).atOffset(ZoneOffset.UTC);
+        } catch (java.time.format.DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(errorResponse("from/to must be ISO-8601 instants, e.g. 2024-05-01T00:00:00Z"));
+        }
+        if (!fromTime.isBefore(toTime)) {
+            return ResponseEntity.badRequest().body(errorResponse("from must be before to"));
+        }
+        QuotePostgresRepository repo = getPostgresRepo();
+        if (repo == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(errorResponse("Postgres repository unavailable."));
+        }
+        try {
+            java.util.List<QuotePostgres> quotes = repo.findCreatedBetween(fromTime, toTime, limit);
+            quoteMetricsService.incrementPostgresRead();
+            return ResponseEntity.ok(quotes);
+        } catch (Exception e) {
+            logger.error("Exception in getQuotesInRange (postgres): {}", e.getMessage(), e);
+            return failureResponse("Failed to fetch quotes: ", e);
+        }
+    }
+
+    /**
+     * Most-viewed quotes (views of `/quotes/latest`), served from the in-memory top-K
+     * without touching the database. Counts are estimates as of the last view flush.
+     */
+    @GetMapping("/quotes/top")
+    public ResponseEntity<?> getTopQuotes(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(errorResponse("limit must be positive"));
+        }
+        return ResponseEntity.ok(quoteViewService.top(limit));
+    }
+
+    /**
+     * A uniformly random quote. The id is drawn in O(1) from the in-memory live-id index, so
+     * only a single primary-key lookup reaches the database.
+     */
+    @GetMapping("/quotes/random")
+    public ResponseEntity<?> getRandomQuote() {
+        logger.info("getRandomQuote called");
+        String dbType = resolveDbType();
+        try {
+            for (int attempt = 0; attempt < 3; attempt++) {
+                String id = randomQuoteService.pick();
+                if (id == null) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse("No quotes available"));
+                }
+                Object quote = findQuoteById(dbType, id);
+                if (quote != null) {
+                    quoteViewService.recordView(quoteNumberOf(quote));
+                    return ResponseEntity.ok(quote);
+                }
+                // Deleted by another replica before its change event reached this pod.
+                logger.info("Random quote id {} no longer exists; dropping it from the index", id);
+                randomQuoteService.removed(id);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse("No quotes available"));
+        } catch (IllegalStateException e) {
+            logger.warn("Random quote index unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(errorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Exception in getRandomQuote: {}", e.getMessage(), e);
+            return failureResponse("Failed to fetch random quote: ", e);
+        }
+    }
+
+    /** One quote by id; counts as a view of that quote. */
+    @GetMapping("/quotes/{id}")
+    public ResponseEntity<?> getQuoteById(@PathVariable("id") String id) {
+        logger.info("getQuoteById called with id: {}", id);
+        String dbType = resolveDbType();
+        try {
+            Object quote = findQuoteById(dbType, id);
+            if (quote == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse("Quote not found: " + id));
+            }
+            quoteViewService.recordView(quoteNumberOf(quote));
+            return ResponseEntity.ok(quote);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(errorResponse("Invalid quote id: " + id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(errorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Exception in getQuoteById: {}", e.getMessage(), e);
+            return failureResponse("Failed to fetch quote: ", e);
+        }
+    }
+
     @GetMapping("/quotes")
     public ResponseEntity<?> getAllQuotes() {
         logger.info("getAllQuotes called");
@@ -258,14 +389,13 @@ public class QuoteController {
             }
             try {
                 logger.info("Fetching all quotes from MongoDB");
-                var all = repo.findAll();
+                var all = repo.findAllPublic();
                 quoteMetricsService.incrementMongoRead();
                 logger.info("Fetched {} quotes from MongoDB", all.size());
                 return ResponseEntity.ok(all);
             } catch (Exception e) {
                 logger.error("Exception in getAllQuotes (Mongo): {}", e.getMessage(), e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(errorResponse("Failed to fetch quotes: " + e.getMessage()));
+                return failureResponse("Failed to fetch quotes: ", e);
             }
         } else if ("postgres".equalsIgnoreCase(dbType) || "h2".equalsIgnoreCase(dbType)) {
             if ("postgres".equalsIgnoreCase(dbType)) {
@@ -283,8 +413,7 @@ public class QuoteController {
                     return ResponseEntity.ok(all);
                 } catch (Exception e) {
                     logger.error("Exception in getAllQuotes (postgres): {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to fetch quotes: " + e.getMessage()));
+                    return failureResponse("Failed to fetch quotes: ", e);
                 }
             } else {
                 QuoteH2Repository repo = getJpaRepo();
@@ -301,8 +430,7 @@ public class QuoteController {
                     return ResponseEntity.ok(all);
                 } catch (Exception e) {
                     logger.error("Exception in getAllQuotes (h2): {}", e.getMessage(), e);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(errorResponse("Failed to fetch quotes: " + e.getMessage()));
+                    return failureResponse("Failed to fetch quotes: ", e);
                 }
             }
         } else {
@@ -328,6 +456,7 @@ public class QuoteController {
                 repo.deleteById(id);
                 quoteMetricsService.incrementMongoDelete();
                 logger.info("Deleted quote from MongoDB with id: {}", id);
+                randomQuoteService.removed(id);
                 return ResponseEntity.ok().body("Deleted");
             } else if ("postgres".equalsIgnoreCase(dbType) || "h2".equalsIgnoreCase(dbType)) {
                 if ("postgres".equalsIgnoreCase(dbType)) {
@@ -341,6 +470,7 @@ public class QuoteController {
                     repo.deleteById(Long.parseLong(id));
                     quoteMetricsService.incrementPostgresDelete();
                     logger.info("Deleted quote from POSTGRES with id: {}", id);
+                    randomQuoteService.removed(id);
                     return ResponseEntity.ok().body("Deleted");
                 } else {
                     QuoteH2Repository repo = getJpaRepo();
@@ -353,6 +483,7 @@ public class QuoteController {
                     repo.deleteById(Long.parseLong(id));
                     quoteMetricsService.incrementH2Delete();
                     logger.info("Deleted quote from H2 with id: {}", id);
+                    randomQuoteService.removed(id);
                     return ResponseEntity.ok().body("Deleted");
                 }
             } else {
@@ -362,8 +493,7 @@ public class QuoteController {
             }
         } catch (Exception e) {
             logger.error("Exception in deleteQuote: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(errorResponse("Failed to delete quote: " + e.getMessage()));
+            return failureResponse("Failed to delete quote: ", e);
         }
     }
 
@@ -402,10 +532,25 @@ public class QuoteController {
             status.put("type", "unknown");
             status.put("connected", "false");
             status.put("message", "Unknown DB_TYPE: " + dbType);
+            return status;
         }
+        StoreGuard guard = storeGuards.forStore(dbType);
+        status.put("circuitState", guard.getState().name());
+        status.put("circuitFailureRate", String.format("%.1f", guard.getFailureRate()));
+        status.put("circuitSlowCallRate", String.format("%.1f", guard.getSlowCallRate()));
+        status.put("bulkheadInFlight", Integer.toString(guard.getInFlight()));
         return status;
     }
 
+    /**
+     * 503 when the store is unreachable or its circuit/bulkhead rejected the call, 500 otherwise.
+     */
+    private ResponseEntity<Map<String, String>> failureResponse(String prefix, Exception e) {
+        HttpStatus status = e instanceof DataAccessResourceFailureException
+            ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(errorResponse(prefix + e.getMessage()));
+    }
+
     private Map<String, String> errorResponse(String msg) {
         logger.info("errorResponse called with msg: {}", msg);
         Map<String, String> err = new HashMap<>();
@@ -425,15 +570,20 @@ public class QuoteController {
 
     private int getNextQuoteNumber() {
         logger.info("getNextQuoteNumber called");
-        String dbType = resolveDbType();
-        if ("mongo".equalsIgnoreCase(dbType) && getMongoRepo() != null) {
-            return (int) (getMongoRepo().count() + 1);
-        } else if ("postgres".equalsIgnoreCase(dbType) && getPostgresRepo() != null) {
-            return (int) (getPostgresRepo().count() + 1);
-        } else if ("h2".equalsIgnoreCase(dbType) && getJpaRepo() != null) {
-            return (int) (getJpaRepo().count() + 1);
-        } else {
-            return 1;
+        int span = tracer.begin("getNextQuoteNumber");
+        try {
+            String dbType = resolveDbType();
+            if ("mongo".equalsIgnoreCase(dbType) && getMongoRepo() != null) {
+                return getMongoRepo().findMaxQuoteNumber() + 1;
+            } else if ("postgres".equalsIgnoreCase(dbType) && getPostgresRepo() != null) {
+                return getPostgresRepo().findMaxQuoteNumber() + 1;
+            } else if ("h2".equalsIgnoreCase(dbType) && getJpaRepo() != null) {
+                return getJpaRepo().findMaxQuoteNumber() + 1;
+            } else {
+                return 1;
+            }
+        } finally {
+            tracer.end(span);
         }
     }
 
@@ -458,6 +608,65 @@ public class QuoteController {
             return null;
         }
     }
+    /**
+     * Primary-key lookup in the active store; null when the id does not exist.
+     *
+     * @throws DataAccessResourceFailureException when the store's repository is unavailable
+     * @throws IllegalArgumentException for an unknown DB type
+     */
+    private Object findQuoteById(String dbType, String id) {
+        if ("mongo".equalsIgnoreCase(dbType)) {
+            QuoteMongoRepository repo = getMongoRepo();
+            if (repo == null) throw new DataAccessResourceFailureException("MongoDB connection unavailable at configured URL.");
+            Object quote = repo.findPublicById(id).orElse(null);
+            quoteMetricsService.incrementMongoRead();
+            return quote;
+        } else if ("postgres".equalsIgnoreCase(dbType)) {
+            QuotePostgresRepository repo = getPostgresRepo();
+            if (repo == null) throw new DataAccessResourceFailureException("Postgres repository unavailable.");
+            Object quote = repo.findById(Long.parseLong(id)).orElse(null);
+            quoteMetricsService.incrementPostgresRead();
+            return quote;
+        } else if ("h2".equalsIgnoreCase(dbType)) {
+            QuoteH2Repository repo = getJpaRepo();
+            if (repo == null) throw new DataAccessResourceFailureException("JPA repository unavailable.");
+            Object quote = repo.findById(Long.parseLong(id)).orElse(null);
+            quoteMetricsService.incrementH2Read();
+            return quote;
+        }
+        logger.warn("Unknown DB_TYPE='{}'", dbType);
+        throw new IllegalArgumentException("Unknown DB_TYPE: " + dbType);
+    }
+
+    private static int quoteNumberOf(Object quote) {
+        if (quote instanceof QuoteMongo m) return m.getQuoteNumber();
+        if (quote instanceof QuotePostgres p) return p.getQuoteNumber();
+        return ((QuoteH2) quote).getQuoteNumber();
+    }
+
+    private com.kendricklabernetes.config.postgres.QuotePartitionManager getPartitionManager() {
+        return ctx.getBeanProvider(com.kendricklabernetes.config.postgres.QuotePartitionManager.class).getIfAvailable();
+    }
+
+    /**
+     * On a partitioned table, look for the latest quote month by month from the current one,
+     * so the query touches one partition instead of the whole table. Null when partitioning
+     * is off or no recent month has quotes; callers fall back to a full scan.
+     */
+    private QuotePostgres findLatestInRecentPartitions(QuotePostgresRepository repo) {
+        com.kendricklabernetes.config.postgres.QuotePartitionManager partitions = getPartitionManager();
+        if (partitions == null || !partitions.isActive()) return null;
+        int lookback = env.getProperty("quotes.postgres.partitioning.latest-lookback-months", Integer.class, 3);
+        OffsetDateTime to = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1);
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i < lookback; i++, month = month.minusMonths(1)) {
+            OffsetDateTime from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+            QuotePostgres latest = repo.findLatestCreatedBetween(from, to).orElse(null);
+            if (latest != null) return latest;
+            to = from;
+        }
+        return null;
+    }
 
     /**
      * Resolve DB type:
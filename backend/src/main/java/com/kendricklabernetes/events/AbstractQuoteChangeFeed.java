@@ -0,0 +1,101 @@
+package com.kendricklabernetes.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Base class for store change feeds: runs {@link #runFeed()} on a daemon thread once the
+ * context (and therefore the schema) is up, reconnecting with capped backoff when the
+ * feed throws, and publishes each change as a {@link QuoteChangeEvent}.
+ */
+public abstract class AbstractQuoteChangeFeed implements SmartLifecycle {
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ApplicationEventPublisher publisher;
+    private final Counter inserted;
+    private final Counter deleted;
+    private final String origin;
+    private volatile boolean running;
+    private Thread thread;
+
+    protected AbstractQuoteChangeFeed(ApplicationEventPublisher publisher, MeterRegistry registry, String origin) {
+        this.publisher = publisher;
+        this.origin = origin;
+        this.inserted = Counter.builder("quote_change_events_total")
+            .description("Quote change events received from the shared store")
+            .tag("origin", origin).tag("type", "inserted")
+            .register(registry);
+        this.deleted = Counter.builder("quote_change_events_total")
+            .description("Quote change events received from the shared store")
+            .tag("origin", origin).tag("type", "deleted")
+            .register(registry);
+    }
+
+    /**
+     * Block consuming changes until {@link #isRunning()} turns false or the feed fails.
+     * Implementations should wake up at least every second to observe shutdown.
+     */
+    protected abstract void runFeed() throws Exception;
+
+    /** Release any resource a blocked {@link #runFeed()} may be waiting on. */
+    protected void interruptFeed() {
+    }
+
+    protected void publish(QuoteChangeEvent.Type type, String id, int quoteNumber) {
+        (type == QuoteChangeEvent.Type.INSERTED ? inserted : deleted).increment();
+        QuoteChangeEvent event = new QuoteChangeEvent(type, id, quoteNumber, origin);
+        log.debug("Publishing {}", event);
+        publisher.publishEvent(event);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::loop, "quote-change-feed-" + origin);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        interruptFeed();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void loop() {
+        long backoffMs = 500;
+        while (running) {
+            try {
+                runFeed();
+                backoffMs = 500;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) return;
+                log.warn("Quote change feed '{}' failed, reconnecting in {} ms: {}", origin, backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+    }
+}
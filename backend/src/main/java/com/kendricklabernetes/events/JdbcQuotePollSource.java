@@ -0,0 +1,46 @@
+package com.kendricklabernetes.events;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+/**
+ * {@link QuotePollSource} over a JDBC quote table keyed by a numeric {@code id}; a row's
+ * weight is its id, which the sequence never hands out twice.
+ */
+public class JdbcQuotePollSource implements QuotePollSource {
+    private static final RowMapper<PolledQuote> ROW =
+        (rs, i) -> new PolledQuote(Long.toString(rs.getLong(1)), rs.getInt(2), rs.getLong(1));
+
+    private final JdbcTemplate jdbc;
+    private final String table;
+
+    public JdbcQuotePollSource(JdbcTemplate jdbc, String table) {
+        if (!table.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid change feed table: " + table);
+        }
+        this.jdbc = jdbc;
+        this.table = table;
+    }
+
+    @Override
+    public List<PolledQuote> newerThan(String afterKey) {
+        if (afterKey == null) {
+            return jdbc.query("SELECT id, quote_number FROM " + table + " ORDER BY id", ROW);
+        }
+        return jdbc.query("SELECT id, quote_number FROM " + table + " WHERE id > ? ORDER BY id", ROW,
+            Long.parseLong(afterKey));
+    }
+
+    @Override
+    public KeySetSummary summary() {
+        return jdbc.queryForObject("SELECT COUNT(*), COALESCE(SUM(id), 0) FROM " + table,
+            (rs, i) -> new KeySetSummary(rs.getLong(1), rs.getLong(2)));
+    }
+
+    @Override
+    public List<PolledQuote> all() {
+        return jdbc.query("SELECT id, quote_number FROM " + table, ROW);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kendricklabernetes.events;
+
+/**
+ * Row count and sum of key weights of a quote store, computed in one aggregate query.
+ * A poller that mirrors both values notices a delete even when an insert it has not
+ * seen yet keeps the count unchanged.
+ */
+public final class KeySetSummary {
+    private final long count;
+    private final long weightSum;
+
+    public KeySetSummary(long count, long weightSum) {
+        this.count = count;
+        this.weightSum = weightSum;
+    }
+
+    public long getCount() { return count; }
+    public long getWeightSum() { return weightSum; }
+}
@@ -0,0 +1,98 @@
+package com.kendricklabernetes.events;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo change feed backed by a change stream on the quotes collection.
+ *
+ * Change streams need a replica set; against a standalone mongod the feed switches to
+ * {@link PollingQuoteChangeFeed} once and stays there.
+ */
+public class MongoQuoteChangeFeed extends AbstractQuoteChangeFeed {
+    private static final int CHANGE_STREAM_UNSUPPORTED = 40573;
+
+    private final MongoCollection<Document> collection;
+    private final PollingQuoteChangeFeed fallback;
+    private BsonDocument resumeToken;
+    private boolean polling;
+
+    public MongoQuoteChangeFeed(MongoCollection<Document> collection, long pollIntervalMs,
+                                ApplicationEventPublisher publisher, MeterRegistry registry) {
+        super(publisher, registry, "mongo-change-stream");
+        this.collection = collection;
+        this.fallback = new PollingQuoteChangeFeed(new MongoQuotePollSource(collection), pollIntervalMs, publisher, registry);
+    }
+
+    @Override
+    protected void runFeed() throws Exception {
+        if (polling) {
+            // the fallback runs on its own thread; just idle until shutdown
+            Thread.sleep(1000);
+            return;
+        }
+        var stream = collection.watch(List.of(Aggregates.match(Filters.in("operationType", "insert", "delete"))))
+            .fullDocument(FullDocument.DEFAULT)
+            .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            log.info("Watching Mongo change stream on collection {}", collection.getNamespace());
+            while (isRunning()) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) continue;
+                resumeToken = change.getResumeToken();
+                handle(change);
+            }
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() != CHANGE_STREAM_UNSUPPORTED) throw e;
+            log.warn("Mongo change streams unavailable (standalone server); falling back to polling");
+            polling = true;
+            fallback.start();
+        }
+    }
+
+    private void handle(ChangeStreamDocument<Document> change) {
+        BsonDocument key = change.getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        String idStr = id == null ? null : id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.toString();
+        if (change.getOperationType() == null) return;
+        switch (change.getOperationType()) {
+            case INSERT:
+                Document doc = change.getFullDocument();
+                Object n = doc == null ? null : doc.get("quoteNumber");
+                publish(QuoteChangeEvent.Type.INSERTED, idStr, n instanceof Number ? ((Number) n).intValue() : -1);
+                break;
+            case DELETE:
+                publish(QuoteChangeEvent.Type.DELETED, idStr, -1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        fallback.stop();
+        super.stop();
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 100;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kendricklabernetes.events;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link QuotePollSource} over the quotes collection, ordered by {@code _id}. A document's
+ * weight is the creation time embedded in its ObjectId (0 for other id types), which the
+ * server can sum without reading the documents back.
+ */
+public class MongoQuotePollSource implements QuotePollSource {
+    private static final Bson KEYS = Projections.include("_id", "quoteNumber");
+
+    private final MongoCollection<Document> collection;
+
+    public MongoQuotePollSource(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public List<PolledQuote> newerThan(String afterKey) {
+        Bson filter = afterKey == null ? new Document()
+            : Filters.gt("_id", ObjectId.isValid(afterKey) ? new ObjectId(afterKey) : afterKey);
+        return read(collection.find(filter).projection(KEYS).sort(Sorts.ascending("_id")));
+    }
+
+    @Override
+    public KeySetSummary summary() {
+        Document weight = new Document("$cond", List.of(
+            new Document("$eq", List.of(new Document("$type", "$_id"), "objectId")),
+            new Document("$toLong", new Document("$toDate", "$_id")), 0L));
+        Document totals = collection.aggregate(List.of(Aggregates.group(null,
+            Accumulators.sum("count", 1), Accumulators.sum("weight", weight)))).first();
+        if (totals == null) return new KeySetSummary(0, 0);
+        return new KeySetSummary(((Number) totals.get("count")).longValue(), ((Number) totals.get("weight")).longValue());
+    }
+
+    @Override
+    public List<PolledQuote> all() {
+        return read(collection.find().projection(KEYS));
+    }
+
+    private static List<PolledQuote> read(Iterable<Document> docs) {
+        List<PolledQuote> out = new ArrayList<>();
+        for (Document d : docs) {
+            Object id = d.get("_id");
+            Object n = d.get("quoteNumber");
+            long weight = id instanceof ObjectId ? ((ObjectId) id).getDate().getTime() : 0;
+            out.add(new PolledQuote(String.valueOf(id), n instanceof Number ? ((Number) n).intValue() : -1, weight));
+        }
+        return out;
+    }
+}
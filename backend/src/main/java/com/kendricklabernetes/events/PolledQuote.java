@@ -0,0 +1,21 @@
+package com.kendricklabernetes.events;
+
+/**
+ * Key and quote number of a row as seen by a {@link QuotePollSource}, plus the key's
+ * weight in {@link KeySetSummary#getWeightSum()}.
+ */
+public final class PolledQuote {
+    private final String key;
+    private final int quoteNumber;
+    private final long weight;
+
+    public PolledQuote(String key, int quoteNumber, long weight) {
+        this.key = key;
+        this.quoteNumber = quoteNumber;
+        this.weight = weight;
+    }
+
+    public String getKey() { return key; }
+    public int getQuoteNumber() { return quoteNumber; }
+    public long getWeight() { return weight; }
+}
@@ -0,0 +1,83 @@
+package com.kendricklabernetes.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fallback change feed for stores without push notifications (H2, standalone mongod).
+ *
+ * Each tick fetches only rows past the highest key seen so far, then compares the store's
+ * {@link KeySetSummary} (row count and key-weight sum, one aggregate query) with the same
+ * values kept for the local view. The full key scan needed to find deletes, or rows that
+ * committed below the highest key, runs only when they disagree. Because keys are never
+ * reused, a delete changes the weight sum even when an unseen insert keeps the count
+ * equal.
+ *
+ * Limits: the feed holds every live key in memory, each tick that sees a delete costs
+ * one O(N) key scan, and a change is missed only if deletes and out-of-order commits
+ * within one interval cancel out in both count and weight sum.
+ */
+public class PollingQuoteChangeFeed extends AbstractQuoteChangeFeed {
+    private final QuotePollSource source;
+    private final long intervalMs;
+    private final Map<String, PolledQuote> known = new HashMap<>();
+    private long knownWeight;
+    private String lastKey;
+    private boolean primed;
+
+    public PollingQuoteChangeFeed(QuotePollSource source, long intervalMs, ApplicationEventPublisher publisher,
+                                  MeterRegistry registry) {
+        super(publisher, registry, "poll");
+        this.source = source;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    protected void runFeed() throws Exception {
+        while (isRunning()) {
+            poll();
+            Thread.sleep(intervalMs);
+        }
+    }
+
+    /** Run one polling pass; the first pass only records the baseline and publishes nothing. */
+    synchronized void poll() {
+        for (PolledQuote q : source.newerThan(lastKey)) {
+            lastKey = q.getKey();
+            if (add(q) && primed) publish(QuoteChangeEvent.Type.INSERTED, q.getKey(), q.getQuoteNumber());
+        }
+        KeySetSummary summary = source.summary();
+        if (summary.getCount() != known.size() || summary.getWeightSum() != knownWeight) {
+            Set<String> present = new HashSet<>();
+            for (PolledQuote q : source.all()) {
+                present.add(q.getKey());
+                // keys committed out of order (concurrent writers) land below lastKey
+                if (add(q) && primed) publish(QuoteChangeEvent.Type.INSERTED, q.getKey(), q.getQuoteNumber());
+            }
+            known.values().removeIf(q -> {
+                if (present.contains(q.getKey())) return false;
+                knownWeight -= q.getWeight();
+                if (primed) publish(QuoteChangeEvent.Type.DELETED, q.getKey(), q.getQuoteNumber());
+                return true;
+            });
+        }
+        primed = true;
+    }
+
+    private boolean add(PolledQuote q) {
+        if (known.putIfAbsent(q.getKey(), q) != null) return false;
+        knownWeight += q.getWeight();
+        return true;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 100;
+    }
+}
@@ -0,0 +1,108 @@
+package com.kendricklabernetes.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Postgres change feed: installs an AFTER INSERT/DELETE trigger that calls {@code pg_notify}
+ * and holds one dedicated connection in {@code LISTEN} mode.
+ */
+public class PostgresQuoteChangeFeed extends AbstractQuoteChangeFeed {
+    static final String CHANNEL = "quote_changes";
+
+    private final DataSource dataSource;
+    private final String table;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private volatile Connection listenConnection;
+
+    public PostgresQuoteChangeFeed(DataSource dataSource, String table, ApplicationEventPublisher publisher,
+                                   MeterRegistry registry) {
+        super(publisher, registry, "postgres-notify");
+        if (!table.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid change feed table: " + table);
+        }
+        this.dataSource = dataSource;
+        this.table = table;
+    }
+
+    @Override
+    protected void runFeed() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            listenConnection = conn;
+            conn.setAutoCommit(true);
+            installTrigger(conn);
+            try (Statement st = conn.createStatement()) {
+                st.execute("LISTEN " + CHANNEL);
+            }
+            log.info("Listening for Postgres notifications on '{}' for table {}", CHANNEL, table);
+            PGConnection pg = conn.unwrap(PGConnection.class);
+            while (isRunning()) {
+                PGNotification[] notifications = pg.getNotifications(1000);
+                if (notifications == null) continue;
+                for (PGNotification n : notifications) {
+                    handle(n.getParameter());
+                }
+            }
+        } finally {
+            listenConnection = null;
+        }
+    }
+
+    private void handle(String payload) {
+        try {
+            JsonNode json = mapper.readTree(payload);
+            QuoteChangeEvent.Type type = "DELETE".equals(json.path("op").asText())
+                ? QuoteChangeEvent.Type.DELETED : QuoteChangeEvent.Type.INSERTED;
+            publish(type, json.path("id").asText(), json.path("quoteNumber").asInt(-1));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed quote change notification '{}': {}", payload, e.getMessage());
+        }
+    }
+
+    // Idempotent so every replica can run it at startup; payloads stay well under NOTIFY's 8000-byte limit.
+    private void installTrigger(Connection conn) throws SQLException {
+        String function = "kl_notify_" + table;
+        String trigger = "kl_" + table + "_change";
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE OR REPLACE FUNCTION " + function + "() RETURNS trigger AS $$\n"
+                + "DECLARE r RECORD;\n"
+                + "BEGIN\n"
+                + "  IF TG_OP = 'DELETE' THEN r := OLD; ELSE r := NEW; END IF;\n"
+                + "  PERFORM pg_notify('" + CHANNEL + "', json_build_object('op', TG_OP, 'id', r.id, 'quoteNumber', r.quote_number)::text);\n"
+                + "  RETURN r;\n"
+                + "END $$ LANGUAGE plpgsql");
+            st.execute("DO $$ BEGIN\n"
+                + "  IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = '" + trigger + "') THEN\n"
+                + "    CREATE TRIGGER " + trigger + " AFTER INSERT OR DELETE ON " + table
+                + " FOR EACH ROW EXECUTE FUNCTION " + function + "();\n"
+                + "  END IF;\n"
+                + "END $$");
+        }
+    }
+
+    @Override
+    protected void interruptFeed() {
+        Connection conn = listenConnection;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // the feed thread is exiting anyway
+            }
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 100;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kendricklabernetes.events;
+
+/**
+ * In-process notification that a quote was inserted or deleted in the shared store,
+ * regardless of which replica performed the write.
+ *
+ * Published through the Spring {@code ApplicationEventPublisher}; consume it with
+ * {@code @EventListener} to update local caches and indexes incrementally. Payloads
+ * carry keys only (Postgres NOTIFY payloads are size-limited), so listeners that need the
+ * quote text should read it by id.
+ */
+public final class QuoteChangeEvent {
+    public enum Type { INSERTED, DELETED }
+
+    private final Type type;
+    private final String id;
+    private final int quoteNumber;
+    private final String origin;
+
+    public QuoteChangeEvent(Type type, String id, int quoteNumber, String origin) {
+        this.type = type;
+        this.id = id;
+        this.quoteNumber = quoteNumber;
+        this.origin = origin;
+    }
+
+    public Type getType() { return type; }
+    /** Store id as a string (JDBC {@code id} or Mongo {@code _id}). */
+    public String getId() { return id; }
+    /** Quote number of the affected row, or -1 when the feed could not supply it. */
+    public int getQuoteNumber() { return quoteNumber; }
+    /** Which feed produced the event: {@code postgres-notify}, {@code mongo-change-stream} or {@code poll}. */
+    public String getOrigin() { return origin; }
+
+    @Override
+    public String toString() {
+        return "QuoteChangeEvent{" + type + " id=" + id + " quoteNumber=" + quoteNumber + " origin=" + origin + "}";
+    }
+}
@@ -0,0 +1,17 @@
+package com.kendricklabernetes.events;
+
+import java.util.List;
+
+/**
+ * Minimal read access a {@link PollingQuoteChangeFeed} needs from a store.
+ */
+public interface QuotePollSource {
+    /** Rows with a key greater than {@code afterKey} (all rows when null), in key order. */
+    List<PolledQuote> newerThan(String afterKey);
+
+    /** Count and key-weight sum over all rows; compared with the poller's own view every tick. */
+    KeySetSummary summary();
+
+    /** Every row's key; only used when a delete has to be located. */
+    List<PolledQuote> all();
+}
@@ -0,0 +1,284 @@
+package com.kendricklabernetes.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * {@code Idempotency-Key} handling for POST requests.
+ *
+ * The first request for a key runs and its response (status + JSON body) is remembered;
+ * retries with the same key get that response back with {@code Idempotent-Replayed: true}
+ * instead of writing again. Lookups go through three layers:
+ * - an in-flight map, so concurrent requests on this pod wait for the running one
+ * - a bounded, expiring LRU of recent responses, so most retries never hit the database
+ * - the active {@link IdempotencyStore}, which survives restarts and is shared by all pods
+ *
+ * 5xx responses are not remembered, so a retry after a failure runs again. If the store
+ * itself cannot be reached, the request is answered with 503 without running the action.
+ */
+@Service
+public class IdempotencyService {
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectProvider<IdempotencyStore> storeProvider;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final long waitMillis;
+    private final long pollMillis;
+    private final long abandonedAfterMillis;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, StoredResponse> recent;
+
+    public IdempotencyService(ObjectProvider<IdempotencyStore> storeProvider, ObjectMapper objectMapper,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${idempotency.wait-ms:5000}") long waitMillis,
+                              @Value("${idempotency.poll-ms:50}") long pollMillis,
+                              @Value("${idempotency.abandoned-after-ms:60000}") long abandonedAfterMillis) {
+        this.storeProvider = storeProvider;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.waitMillis = waitMillis;
+        this.pollMillis = pollMillis;
+        this.abandonedAfterMillis = abandonedAfterMillis;
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Run {@code action} at most once per key; {@code requestBody} is fingerprinted so a key
+     * reused with a different payload is rejected with 422 instead of replaying.
+     */
+    public ResponseEntity<?> execute(String key, Object requestBody, Supplier<ResponseEntity<?>> action) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(requestBody);
+
+        StoredResponse cached = cached(key);
+        if (cached != null) return replay(cached, fingerprint);
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return awaitLocal(running, fingerprint);
+        }
+        try {
+            return runOnce(key, fingerprint, action, mine);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Drop expired rows from the durable store; Mongo expires them with a TTL index instead. */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        IdempotencyStore store = storeProvider.getIfAvailable();
+        if (store == null) return;
+        try {
+            int removed = store.purgeOlderThan(System.currentTimeMillis() - ttlMillis);
+            if (removed > 0) log.info("Purged {} expired idempotency keys", removed);
+        } catch (Exception e) {
+            log.warn("Failed to purge idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim the key in the store and run the action, or pick up the response another pod
+     * stored for it. {@code mine} is completed with whatever local waiters should replay.
+     */
+    private ResponseEntity<?> runOnce(String key, String fingerprint, Supplier<ResponseEntity<?>> action,
+                                      CompletableFuture<StoredResponse> mine) {
+        IdempotencyStore store = storeProvider.getIfAvailable();
+        long now = System.currentTimeMillis();
+        if (store != null) {
+            StoredResponse existing;
+            try {
+                if (reserve(store, key, fingerprint, now)) {
+                    existing = null;
+                } else {
+                    existing = awaitStored(store, key);
+                    mine.complete(existing);
+                    if (existing == null) return inProgress();
+                }
+            } catch (DataAccessException | MongoException e) {
+                // Without the store the key cannot be claimed safely; answer like an unreachable quote store.
+                log.warn("Idempotency store unavailable for key {}: {}", key, e.getMessage());
+                mine.completeExceptionally(e);
+                return error(HttpStatus.SERVICE_UNAVAILABLE, "Idempotency store unavailable: " + e.getMessage());
+            }
+            if (existing != null) {
+                remember(key, existing);
+                return replay(existing, fingerprint);
+            }
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(store, key);
+            throw e;
+        }
+        int status = response.getStatusCode().value();
+        if (status >= 500) {
+            release(store, key);
+            mine.completeExceptionally(new IllegalStateException("request failed with status " + status));
+            return response;
+        }
+        StoredResponse stored = new StoredResponse(fingerprint, status, toJson(response.getBody()), now);
+        remember(key, stored);
+        mine.complete(stored);
+        if (store != null) {
+            try {
+                store.complete(key, stored);
+            } catch (Exception e) {
+                log.warn("Failed to persist idempotency key {}: {}", key, e.getMessage());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * A pending record older than {@code idempotency.abandoned-after-ms} belongs to a pod
+     * that died mid-request; it is taken over instead of blocking the key until it expires.
+     * The takeover is one conditional update, so when several pods find the same stale
+     * record only one of them runs the action.
+     */
+    private boolean reserve(IdempotencyStore store, String key, String fingerprint, long now) {
+        if (store.reserve(key, fingerprint, now)) return true;
+        StoredResponse existing = store.find(key);
+        if (existing == null) return store.reserve(key, fingerprint, now);
+        if (existing.isPending() && now - existing.getCreatedAtMillis() > abandonedAfterMillis
+                && store.takeOver(key, fingerprint, now - abandonedAfterMillis, now)) {
+            log.warn("Took over abandoned idempotency key {}", key);
+            return true;
+        }
+        return false;
+    }
+
+    private StoredResponse awaitStored(IdempotencyStore store, String key) {
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (true) {
+            StoredResponse existing = store.find(key);
+            if (existing == null || !existing.isPending()) return existing;
+            if (System.currentTimeMillis() >= deadline) return null;
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private ResponseEntity<?> awaitLocal(CompletableFuture<StoredResponse> running, String fingerprint) {
+        try {
+            StoredResponse result = running.get(waitMillis, TimeUnit.MILLISECONDS);
+            return result == null ? inProgress() : replay(result, fingerprint);
+        } catch (TimeoutException e) {
+            return inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress();
+        } catch (ExecutionException e) {
+            // The original request failed before producing a response; this one may retry.
+            return error(HttpStatus.CONFLICT, "Original request with this Idempotency-Key failed; retry");
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used with a different request body");
+        }
+        return ResponseEntity.status(stored.getStatus())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(REPLAYED_HEADER, "true")
+            .body(stored.getBody());
+    }
+
+    private StoredResponse cached(String key) {
+        synchronized (recent) {
+            StoredResponse r = recent.get(key);
+            if (r != null && System.currentTimeMillis() - r.getCreatedAtMillis() > ttlMillis) {
+                recent.remove(key);
+                return null;
+            }
+            return r;
+        }
+    }
+
+    private void remember(String key, StoredResponse response) {
+        if (System.currentTimeMillis() - response.getCreatedAtMillis() > ttlMillis) return;
+        synchronized (recent) {
+            recent.put(key, response);
+        }
+    }
+
+    private static void release(IdempotencyStore store, String key) {
+        if (store == null) return;
+        try {
+            store.release(key);
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize response for idempotency cache", e);
+        }
+    }
+
+    private String fingerprint(Object requestBody) {
+        try {
+            byte[] json = objectMapper.writeValueAsString(requestBody).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException | com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request body", e);
+        }
+    }
+
+    private static ResponseEntity<?> inProgress() {
+        return error(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+    }
+
+    private static ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("error", message));
+    }
+}
@@ -0,0 +1,31 @@
+package com.kendricklabernetes.idempotency;
+
+/**
+ * Durable idempotency records shared by all replicas.
+ *
+ * {@link #reserve} is the cross-replica lock: exactly one caller wins the insert for a key,
+ * the others see the pending (and later the completed) record through {@link #find}.
+ * {@link #takeOver} is the same lock for a pending record whose owner died.
+ */
+public interface IdempotencyStore {
+    /** Insert a pending record; false when the key already exists. */
+    boolean reserve(String key, String fingerprint, long nowMillis);
+
+    /**
+     * Re-stamp a pending record created before {@code staleBeforeMillis} with a new fingerprint
+     * and time, in one conditional update; true for the single caller whose update matched.
+     */
+    boolean takeOver(String key, String fingerprint, long staleBeforeMillis, long nowMillis);
+
+    /** Replace the pending record with the final response. */
+    void complete(String key, StoredResponse response);
+
+    /** Drop a reservation whose request failed, so a retry can run again. */
+    void release(String key);
+
+    /** Record for the key, or null. */
+    StoredResponse find(String key);
+
+    /** Delete records created before the cutoff; returns how many were removed. */
+    int purgeOlderThan(long cutoffMillis);
+}
@@ -0,0 +1,94 @@
+package com.kendricklabernetes.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link IdempotencyStore} backed by an {@code idempotency_keys} table (H2 and Postgres).
+ *
+ * The table is created by {@link #initialize()} when the bean starts. A database that is
+ * down at that point does not stop the app; the DDL is retried before the next store call.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    private final JdbcTemplate jdbc;
+    private volatile boolean schemaReady;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Create the table and index if missing; logs instead of failing when the database is down. */
+    public void initialize() {
+        try {
+            ensureSchema();
+        } catch (DataAccessException e) {
+            log.warn("Could not create idempotency_keys yet, retrying on first use: {}", e.getMessage());
+        }
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) return;
+        synchronized (this) {
+            if (schemaReady) return;
+            jdbc.execute("CREATE TABLE IF NOT EXISTS idempotency_keys (idem_key VARCHAR(255) PRIMARY KEY, "
+                + "fingerprint VARCHAR(64), status INT NOT NULL, body TEXT, created_at BIGINT NOT NULL)");
+            jdbc.execute("CREATE INDEX IF NOT EXISTS idempotency_keys_created_at ON idempotency_keys (created_at)");
+            schemaReady = true;
+        }
+    }
+
+    @Override
+    public boolean reserve(String key, String fingerprint, long nowMillis) {
+        ensureSchema();
+        try {
+            jdbc.update("INSERT INTO idempotency_keys (idem_key, fingerprint, status, created_at) VALUES (?, ?, ?, ?)",
+                key, fingerprint, StoredResponse.PENDING, nowMillis);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean takeOver(String key, String fingerprint, long staleBeforeMillis, long nowMillis) {
+        ensureSchema();
+        return jdbc.update("UPDATE idempotency_keys SET fingerprint = ?, created_at = ? "
+                + "WHERE idem_key = ? AND status = ? AND created_at < ?",
+            fingerprint, nowMillis, key, StoredResponse.PENDING, staleBeforeMillis) == 1;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        ensureSchema();
+        jdbc.update("UPDATE idempotency_keys SET status = ?, body = ? WHERE idem_key = ?",
+            response.getStatus(), response.getBody(), key);
+    }
+
+    @Override
+    public void release(String key) {
+        ensureSchema();
+        jdbc.update("DELETE FROM idempotency_keys WHERE idem_key = ? AND status = ?", key, StoredResponse.PENDING);
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        ensureSchema();
+        List<StoredResponse> rows = jdbc.query(
+            "SELECT fingerprint, status, body, created_at FROM idempotency_keys WHERE idem_key = ?",
+            (rs, i) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getLong(4)), key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public int purgeOlderThan(long cutoffMillis) {
+        ensureSchema();
+        return jdbc.update("DELETE FROM idempotency_keys WHERE created_at < ?", cutoffMillis);
+    }
+}
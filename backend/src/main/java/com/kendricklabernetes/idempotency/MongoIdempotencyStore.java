@@ -0,0 +1,99 @@
+package com.kendricklabernetes.idempotency;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IdempotencyStore} backed by an {@code idempotency_keys} collection keyed by
+ * {@code _id}; a TTL index lets the server expire old keys on its own.
+ *
+ * The TTL index is created lazily by the first {@link #reserve}, not at startup, so an
+ * unreachable Mongo does not hold up or fail boot; a failed attempt is retried at most once a minute.
+ */
+public class MongoIdempotencyStore implements IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(MongoIdempotencyStore.class);
+    private static final long INDEX_RETRY_MILLIS = 60_000;
+
+    private final MongoCollection<Document> collection;
+    private final long ttlSeconds;
+    private volatile boolean indexed;
+    private volatile long nextIndexAttempt;
+
+    public MongoIdempotencyStore(MongoCollection<Document> collection, long ttlSeconds) {
+        this.collection = collection;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    private void ensureTtlIndex(long nowMillis) {
+        if (indexed || nowMillis < nextIndexAttempt) return;
+        nextIndexAttempt = nowMillis + INDEX_RETRY_MILLIS;
+        try {
+            collection.createIndex(Indexes.ascending("createdAt"),
+                new IndexOptions().name("createdAt_ttl").expireAfter(ttlSeconds, TimeUnit.SECONDS));
+            indexed = true;
+        } catch (RuntimeException e) {
+            log.warn("Could not ensure TTL index on idempotency_keys, retrying later: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean reserve(String key, String fingerprint, long nowMillis) {
+        ensureTtlIndex(nowMillis);
+        try {
+            collection.insertOne(new Document("_id", key)
+                .append("fingerprint", fingerprint)
+                .append("status", StoredResponse.PENDING)
+                .append("createdAt", new Date(nowMillis)));
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) return false;
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean takeOver(String key, String fingerprint, long staleBeforeMillis, long nowMillis) {
+        return collection.updateOne(
+            Filters.and(Filters.eq("_id", key), Filters.eq("status", StoredResponse.PENDING),
+                Filters.lt("createdAt", new Date(staleBeforeMillis))),
+            Updates.combine(Updates.set("fingerprint", fingerprint), Updates.set("createdAt", new Date(nowMillis))))
+            .getModifiedCount() == 1;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        collection.updateOne(Filters.eq("_id", key),
+            Updates.combine(Updates.set("status", response.getStatus()), Updates.set("body", response.getBody())));
+    }
+
+    @Override
+    public void release(String key) {
+        collection.deleteOne(Filters.and(Filters.eq("_id", key), Filters.eq("status", StoredResponse.PENDING)));
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        Document d = collection.find(Filters.eq("_id", key)).first();
+        if (d == null) return null;
+        Date created = d.getDate("createdAt");
+        return new StoredResponse(d.getString("fingerprint"), d.getInteger("status", StoredResponse.PENDING),
+            d.getString("body"), created == null ? 0 : created.getTime());
+    }
+
+    @Override
+    public int purgeOlderThan(long cutoffMillis) {
+        // The TTL index already expires old keys.
+        return 0;
+    }
+}
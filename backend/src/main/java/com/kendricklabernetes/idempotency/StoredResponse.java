@@ -0,0 +1,27 @@
+package com.kendricklabernetes.idempotency;
+
+/**
+ * The first response produced for an idempotency key: HTTP status plus the JSON body.
+ * A status of {@link #PENDING} marks a key reserved by a request that has not finished.
+ */
+public final class StoredResponse {
+    public static final int PENDING = 0;
+
+    private final String fingerprint;
+    private final int status;
+    private final String body;
+    private final long createdAtMillis;
+
+    public StoredResponse(String fingerprint, int status, String body, long createdAtMillis) {
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.body = body;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    public String getFingerprint() { return fingerprint; }
+    public int getStatus() { return status; }
+    public String getBody() { return body; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public boolean isPending() { return status == PENDING; }
+}
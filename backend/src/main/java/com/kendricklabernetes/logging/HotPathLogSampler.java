@@ -0,0 +1,88 @@
+package com.kendricklabernetes.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint sampling of request logs.
+ *
+ * Each endpoint (HTTP method + mapped path pattern) gets at most
+ * {@code logging.hot-path.requests-per-second} requests per second whose INFO/DEBUG lines
+ * are logged. Every other request is marked as suppressed for its thread, and
+ * {@link HotPathTurboFilter} drops its low-level lines before Logback builds an event. The
+ * log volume per endpoint stays flat no matter how high the request rate climbs. WARN and
+ * ERROR always pass. Suppressed requests are counted in {@code logging.hot_path.suppressed}.
+ */
+@Component
+public class HotPathLogSampler implements HandlerInterceptor {
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final int perSecond;
+
+    public HotPathLogSampler(MeterRegistry registry,
+                             @Value("${logging.hot-path.requests-per-second:5}") int perSecond) {
+        this.registry = registry;
+        this.perSecond = perSecond;
+    }
+
+    /** True while the current thread serves a request whose low-level logs were sampled out. */
+    public static boolean isSuppressed() {
+        return SUPPRESSED.get() == Boolean.TRUE;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (perSecond < 0) return true;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        if (!admit(endpoint, System.currentTimeMillis() / 1000)) SUPPRESSED.set(Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SUPPRESSED.remove();
+    }
+
+    /** Whether a request to {@code endpoint} in epoch second {@code second} may log. */
+    boolean admit(String endpoint, long second) {
+        Window w = windows.get(endpoint);
+        if (w == null) w = windows.computeIfAbsent(endpoint, this::newWindow);
+        long current = w.second.get();
+        if (current != second && w.second.compareAndSet(current, second)) {
+            w.count.set(0);
+        }
+        if (w.count.incrementAndGet() <= perSecond) return true;
+        w.suppressed.increment();
+        return false;
+    }
+
+    private Window newWindow(String endpoint) {
+        return new Window(Counter.builder("logging.hot_path.suppressed")
+            .description("Requests whose INFO/DEBUG logs were sampled out")
+            .tag("endpoint", endpoint)
+            .register(registry));
+    }
+
+    private static final class Window {
+        final AtomicLong second = new AtomicLong(-1);
+        final AtomicInteger count = new AtomicInteger();
+        final Counter suppressed;
+
+        Window(Counter suppressed) {
+            this.suppressed = suppressed;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.kendricklabernetes.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter (declared in logback-spring.xml) that denies INFO and lower from the
+ * hot-path loggers while {@link HotPathLogSampler} has sampled the current request out.
+ * Turbo filters run before a logging event is created, so a dropped line allocates nothing
+ * and never reaches the async queue.
+ */
+public class HotPathTurboFilter extends TurboFilter {
+    private String[] prefixes = {"com.kendricklabernetes.controller"};
+
+    /** Comma-separated logger name prefixes subject to sampling. */
+    public void setLoggers(String loggers) {
+        this.prefixes = loggers.trim().isEmpty() ? new String[0] : loggers.trim().split("\\s*,\\s*");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.levelInt >= Level.WARN_INT || !HotPathLogSampler.isSuppressed()) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kendricklabernetes.logging;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Registers the per-endpoint log sampler for API requests. */
+@Configuration
+public class LoggingWebConfig implements WebMvcConfigurer {
+    private final HotPathLogSampler sampler;
+
+    public LoggingWebConfig(HotPathLogSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sampler).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,84 @@
+package com.kendricklabernetes.migration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Writes a chunk as a single JDBC batch inside one transaction.
+ *
+ * Rows are merged on (quote_number, timestamp) rather than blindly inserted, so chunks
+ * written again after a resume (see {@link MigrationJob}) do not duplicate quotes. The
+ * quote tables have no unique key to hang {@code ON CONFLICT} on, so this uses a standard
+ * {@code MERGE} (H2 2.x, Postgres 15+) backed by an index on quote_number. A target with
+ * a {@code created_at} column (partitioned Postgres) gets the quote's own timestamp there.
+ */
+public class JdbcQuoteSink implements QuoteSink {
+    private final Connection conn;
+    private final PreparedStatement insert;
+    private final boolean createdAt;
+
+    public JdbcQuoteSink(MigrationEndpoint endpoint) throws SQLException {
+        this.conn = DriverManager.getConnection(endpoint.getConnectionString(), endpoint.getUsername(), endpoint.getPassword());
+        String table = endpoint.getTable();
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE INDEX IF NOT EXISTS " + table + "_quote_number_idx ON " + table + " (quote_number)");
+        } catch (SQLException e) {
+            // Every worker opens a sink at once; a concurrent CREATE INDEX from another one can still collide.
+        }
+        this.createdAt = hasCreatedAt(conn, table);
+        this.conn.setAutoCommit(false);
+        this.insert = conn.prepareStatement("MERGE INTO " + table + " t USING (VALUES ("
+            + "CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS INTEGER)"
+            + (createdAt ? ", CAST(? AS TIMESTAMP WITH TIME ZONE)" : "") + ")) "
+            + "AS s (quote, timestamp, ip, quote_number" + (createdAt ? ", created_at" : "") + ") "
+            + "ON t.quote_number = s.quote_number "
+            + "AND (t.timestamp = s.timestamp OR (t.timestamp IS NULL AND s.timestamp IS NULL)) "
+            + "WHEN NOT MATCHED THEN INSERT (quote, timestamp, ip, quote_number" + (createdAt ? ", created_at" : "") + ") "
+            + "VALUES (s.quote, s.timestamp, s.ip, s.quote_number" + (createdAt ? ", s.created_at" : "") + ")");
+    }
+
+    private static boolean hasCreatedAt(Connection conn, String table) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData md = rs.getMetaData();
+            for (int i = 1; i <= md.getColumnCount(); i++) {
+                if ("created_at".equalsIgnoreCase(md.getColumnName(i))) return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public void writeChunk(List<QuoteRow> rows) throws SQLException {
+        try {
+            for (QuoteRow row : rows) {
+                insert.setString(1, row.getQuote());
+                insert.setString(2, row.getTimestamp());
+                insert.setString(3, row.getIp());
+                insert.setInt(4, row.getQuoteNumber());
+                if (createdAt) insert.setObject(5, row.createdAt());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            insert.clearBatch();
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // all chunks are committed or rolled back individually
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.kendricklabernetes.migration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paged reader over a JDBC quote table (`WHERE id > ? ORDER BY id`), so every
+ * chunk is an index range scan regardless of how far into the table the job is.
+ */
+public class JdbcQuoteSource implements QuoteSource {
+    private final Connection conn;
+    private final PreparedStatement first;
+    private final PreparedStatement next;
+
+    public JdbcQuoteSource(MigrationEndpoint endpoint) throws SQLException {
+        this.conn = DriverManager.getConnection(endpoint.getConnectionString(), endpoint.getUsername(), endpoint.getPassword());
+        this.conn.setReadOnly(true);
+        String cols = "SELECT id, quote, timestamp, ip, quote_number FROM " + endpoint.getTable();
+        this.first = conn.prepareStatement(cols + " ORDER BY id LIMIT ?");
+        this.next = conn.prepareStatement(cols + " WHERE id > ? ORDER BY id LIMIT ?");
+    }
+
+    @Override
+    public List<QuoteRow> nextChunk(String afterKey, int limit) throws SQLException {
+        PreparedStatement ps;
+        if (afterKey == null) {
+            ps = first;
+            ps.setInt(1, limit);
+        } else {
+            ps = next;
+            ps.setLong(1, Long.parseLong(afterKey));
+            ps.setInt(2, limit);
+        }
+        ps.setFetchSize(limit);
+        List<QuoteRow> rows = new ArrayList<>(limit);
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new QuoteRow(Long.toString(rs.getLong(1)), rs.getString(2), rs.getString(3),
+                    rs.getString(4), rs.getInt(5)));
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // closing a read-only connection; nothing left to recover
+        }
+    }
+}
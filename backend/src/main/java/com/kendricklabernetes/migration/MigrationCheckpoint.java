@@ -0,0 +1,27 @@
+package com.kendricklabernetes.migration;
+
+/**
+ * Durable resume point for a migration job: every source row with a key up to and
+ * including {@code lastKey} has been committed to the target.
+ */
+public final class MigrationCheckpoint {
+    private final String source;
+    private final String target;
+    private final String lastKey;
+    private final long rowsWritten;
+    private final boolean completed;
+
+    public MigrationCheckpoint(String source, String target, String lastKey, long rowsWritten, boolean completed) {
+        this.source = source;
+        this.target = target;
+        this.lastKey = lastKey;
+        this.rowsWritten = rowsWritten;
+        this.completed = completed;
+    }
+
+    public String getSource() { return source; }
+    public String getTarget() { return target; }
+    public String getLastKey() { return lastKey; }
+    public long getRowsWritten() { return rowsWritten; }
+    public boolean isCompleted() { return completed; }
+}
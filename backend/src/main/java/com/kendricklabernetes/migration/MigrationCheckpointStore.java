@@ -0,0 +1,54 @@
+package com.kendricklabernetes.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Persists migration checkpoints as small properties files, one per job id.
+ *
+ * Files are written to a temp file and atomically renamed so a crash mid-write never
+ * leaves a truncated checkpoint behind.
+ */
+public class MigrationCheckpointStore {
+    private final Path dir;
+
+    public MigrationCheckpointStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public void save(String jobId, MigrationCheckpoint cp) throws IOException {
+        Files.createDirectories(dir);
+        Properties p = new Properties();
+        p.setProperty("source", cp.getSource());
+        p.setProperty("target", cp.getTarget());
+        if (cp.getLastKey() != null) p.setProperty("lastKey", cp.getLastKey());
+        p.setProperty("rowsWritten", Long.toString(cp.getRowsWritten()));
+        p.setProperty("completed", Boolean.toString(cp.isCompleted()));
+        Path tmp = dir.resolve(jobId + ".checkpoint.tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            p.store(out, "quote migration checkpoint");
+        }
+        Files.move(tmp, file(jobId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Load the checkpoint for a job, or null when none was recorded. */
+    public MigrationCheckpoint load(String jobId) throws IOException {
+        Path f = file(jobId);
+        if (!Files.exists(f)) return null;
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(f)) {
+            p.load(in);
+        }
+        return new MigrationCheckpoint(p.getProperty("source"), p.getProperty("target"), p.getProperty("lastKey"),
+            Long.parseLong(p.getProperty("rowsWritten", "0")), Boolean.parseBoolean(p.getProperty("completed")));
+    }
+
+    private Path file(String jobId) {
+        return dir.resolve(jobId + ".checkpoint");
+    }
+}
@@ -0,0 +1,111 @@
+package com.kendricklabernetes.migration;
+
+import com.mongodb.ConnectionString;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Connection details for one side of a migration, parsed from the admin API body.
+ *
+ * Accepted keys mirror the Admin explorer endpoints: `type` (h2|postgres|mongo),
+ * `connectionString`, `username`, `password`, plus an optional `table` (JDBC) or
+ * `database`/`collection` (Mongo). Defaults follow the entity mappings used by the app
+ * (`quoteh2`, `quote_postgres`, `quotes`).
+ */
+public final class MigrationEndpoint {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final String type;
+    private final String connectionString;
+    private final String username;
+    private final String password;
+    private final String table;
+    private final String database;
+
+    private MigrationEndpoint(String type, String connectionString, String username, String password,
+                              String table, String database) {
+        this.type = type;
+        this.connectionString = connectionString;
+        this.username = username;
+        this.password = password;
+        this.table = table;
+        this.database = database;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static MigrationEndpoint fromBody(Object raw, String side) {
+        if (!(raw instanceof Map)) {
+            throw new IllegalArgumentException(side + " is required");
+        }
+        Map<String, Object> body = (Map<String, Object>) raw;
+        String type = str(body.get("type"));
+        String url = str(body.get("connectionString"));
+        if (type == null || url == null) {
+            throw new IllegalArgumentException(side + ".type and " + side + ".connectionString are required");
+        }
+        type = type.trim().toLowerCase(Locale.ROOT);
+        String table;
+        String database = null;
+        switch (type) {
+            case "h2":
+                table = str(body.getOrDefault("table", "quoteh2"));
+                break;
+            case "postgres":
+                table = str(body.getOrDefault("table", "quote_postgres"));
+                break;
+            case "mongo":
+                table = str(body.getOrDefault("collection", "quotes"));
+                database = str(body.get("database"));
+                if (database == null) {
+                    database = new ConnectionString(url).getDatabase();
+                }
+                if (database == null) {
+                    database = "kendrickquotes";
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported " + side + ".type: " + type);
+        }
+        if (table == null || !IDENTIFIER.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid " + side + " table/collection name: " + table);
+        }
+        return new MigrationEndpoint(type, url, str(body.get("username")), str(body.get("password")), table, database);
+    }
+
+    private static String str(Object o) {
+        if (o == null) return null;
+        String s = o.toString();
+        return s.isBlank() ? null : s;
+    }
+
+    public boolean isMongo() { return "mongo".equals(type); }
+    public String getType() { return type; }
+    public String getConnectionString() { return connectionString; }
+    public String getUsername() { return username; }
+    public String getPassword() { return password; }
+    public String getTable() { return table; }
+    public String getDatabase() { return database; }
+
+    /**
+     * Identity of the endpoint for status output and checkpoint matching, e.g.
+     * {@code postgres:quote_postgres@db1:5432/kendrick} or {@code mongo:kq.quotes@m1:27017,m2:27017}.
+     * Includes the server and database but never credentials or URL options.
+     */
+    public String describe() {
+        return (isMongo() ? type + ":" + database + "." + table : type + ":" + table) + "@" + location();
+    }
+
+    private String location() {
+        if (isMongo()) {
+            return String.join(",", new ConnectionString(connectionString).getHosts());
+        }
+        // jdbc:<subprotocol>:<rest>; options after ';' or '?' may carry USER/PASSWORD, so they are dropped
+        String rest = connectionString.replaceFirst("^jdbc:[^:]+:", "").split("[;?]", 2)[0];
+        if (rest.startsWith("//")) {
+            rest = rest.substring(2).replaceFirst("^[^/@]*@", "");
+        }
+        return rest;
+    }
+}
@@ -0,0 +1,270 @@
+package com.kendricklabernetes.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One source-to-target quote migration.
+ *
+ * A reader thread pages the source in keyset order and hands chunks to a bounded queue;
+ * {@code workers} threads each own a sink and bulk-write chunks concurrently. Chunks may
+ * finish out of order, so the checkpoint only advances over the contiguous prefix of
+ * committed chunks. Resuming therefore never skips rows, but chunks that were in flight
+ * when the job stopped (at most {@code workers + queueCapacity} of them) are written again;
+ * the sinks merge on (quoteNumber, timestamp), so those rewrites do not duplicate quotes.
+ */
+public class MigrationJob implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(MigrationJob.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int RATE_SAMPLES = 16;
+
+    public enum State { RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private static final class Chunk {
+        final long seq;
+        final List<QuoteRow> rows;
+        Chunk(long seq, List<QuoteRow> rows) {
+            this.seq = seq;
+            this.rows = rows;
+        }
+        String lastKey() { return rows.get(rows.size() - 1).getKey(); }
+    }
+
+    private static final Chunk POISON = new Chunk(-1, List.of());
+
+    private final String id;
+    private final MigrationEndpoint source;
+    private final MigrationEndpoint target;
+    private final int chunkSize;
+    private final int workers;
+    private final MigrationCheckpointStore checkpoints;
+    private final Function<MigrationEndpoint, QuoteSource> sourceFactory;
+    private final Function<MigrationEndpoint, QuoteSink> sinkFactory;
+    private final BlockingQueue<Chunk> queue;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsWrittenThisRun = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    // Guarded by "this": contiguous-commit watermark and throughput samples.
+    private final TreeMap<Long, Chunk> finished = new TreeMap<>();
+    private long nextSeqToCommit;
+    private String checkpointKey;
+    private long checkpointRows;
+    private final long[] sampleNanos = new long[RATE_SAMPLES];
+    private final long[] sampleRows = new long[RATE_SAMPLES];
+    private int sampleCount;
+
+    public MigrationJob(String id, MigrationEndpoint source, MigrationEndpoint target, int chunkSize, int workers,
+                        MigrationCheckpoint resumeFrom, MigrationCheckpointStore checkpoints,
+                        Function<MigrationEndpoint, QuoteSource> sourceFactory,
+                        Function<MigrationEndpoint, QuoteSink> sinkFactory) {
+        this.id = id;
+        this.source = source;
+        this.target = target;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.checkpoints = checkpoints;
+        this.sourceFactory = sourceFactory;
+        this.sinkFactory = sinkFactory;
+        this.queue = new ArrayBlockingQueue<>(workers * 2);
+        if (resumeFrom != null) {
+            this.checkpointKey = resumeFrom.getLastKey();
+            this.checkpointRows = resumeFrom.getRowsWritten();
+        }
+    }
+
+    public String getId() { return id; }
+    public State getState() { return state; }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    @Override
+    public void run() {
+        log.info("Migration {} started: {} -> {} (chunkSize={}, workers={}, resumeAfter={})",
+            id, source.describe(), target.describe(), chunkSize, workers, checkpointKey);
+        List<Thread> pool = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Thread t = new Thread(this::workerLoop, "migration-" + id + "-w" + i);
+            t.setDaemon(true);
+            pool.add(t);
+            t.start();
+        }
+        String afterKey;
+        synchronized (this) {
+            afterKey = checkpointKey;
+        }
+        long seq = 0;
+        try (QuoteSource reader = sourceFactory.apply(source)) {
+            while (!cancelRequested && state == State.RUNNING) {
+                List<QuoteRow> rows = reader.nextChunk(afterKey, chunkSize);
+                if (rows.isEmpty()) break;
+                Chunk chunk = new Chunk(seq++, rows);
+                rowsRead.addAndGet(rows.size());
+                afterKey = chunk.lastKey();
+                queue.put(chunk);
+            }
+        } catch (Exception e) {
+            fail("read failed: " + e.getMessage(), e);
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                putQuietly(POISON);
+            }
+        }
+        for (Thread t : pool) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (state == State.RUNNING) {
+                state = cancelRequested ? State.CANCELLED : State.COMPLETED;
+            }
+            persistCheckpoint(state == State.COMPLETED);
+        }
+        log.info("Migration {} finished with state {} — {} rows written this run", id, state, rowsWrittenThisRun.get());
+    }
+
+    private void workerLoop() {
+        try (QuoteSink sink = sinkFactory.apply(target)) {
+            while (true) {
+                Chunk chunk = queue.take();
+                if (chunk == POISON) return;
+                if (state != State.RUNNING || cancelRequested) continue; // drain so the reader never blocks
+                if (writeWithRetry(sink, chunk)) {
+                    commit(chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            fail("target unavailable: " + e.getMessage(), e);
+            drainUntilPoison();
+        }
+    }
+
+    private boolean writeWithRetry(QuoteSink sink, Chunk chunk) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.writeChunk(chunk.rows);
+                return true;
+            } catch (Exception e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    fail("write failed after " + attempt + " attempts: " + e.getMessage(), e);
+                    return false;
+                }
+                log.warn("Migration {} chunk {} write attempt {} failed: {}", id, chunk.seq, attempt, e.getMessage());
+                Thread.sleep(100L << attempt);
+            }
+        }
+    }
+
+    private synchronized void commit(Chunk chunk) {
+        rowsWrittenThisRun.addAndGet(chunk.rows.size());
+        finished.put(chunk.seq, chunk);
+        boolean advanced = false;
+        Chunk head;
+        while ((head = finished.remove(nextSeqToCommit)) != null) {
+            checkpointKey = head.lastKey();
+            checkpointRows += head.rows.size();
+            nextSeqToCommit++;
+            advanced = true;
+        }
+        if (advanced) {
+            persistCheckpoint(false);
+        }
+        int slot = sampleCount++ % RATE_SAMPLES;
+        sampleNanos[slot] = System.nanoTime();
+        sampleRows[slot] = rowsWrittenThisRun.get();
+    }
+
+    private void persistCheckpoint(boolean completed) {
+        try {
+            checkpoints.save(id, new MigrationCheckpoint(source.describe(), target.describe(), checkpointKey,
+                checkpointRows, completed));
+        } catch (Exception e) {
+            log.warn("Migration {} could not persist checkpoint: {}", id, e.getMessage());
+        }
+    }
+
+    private void fail(String msg, Exception e) {
+        synchronized (this) {
+            if (state != State.RUNNING) return;
+            state = State.FAILED;
+            error = msg;
+        }
+        log.error("Migration {} {}", id, msg, e);
+    }
+
+    private void drainUntilPoison() {
+        try {
+            while (queue.take() != POISON) {
+                // discard remaining chunks; they are past the checkpoint and will be re-read on resume
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void putQuietly(Chunk chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Snapshot of progress and throughput for the admin API. */
+    public synchronized Map<String, Object> status() {
+        long now = System.nanoTime();
+        long written = rowsWrittenThisRun.get();
+        double elapsedSec = (now - startNanos) / 1e9;
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("id", id);
+        s.put("state", state.name());
+        s.put("source", source.describe());
+        s.put("target", target.describe());
+        s.put("chunkSize", chunkSize);
+        s.put("workers", workers);
+        s.put("startedAt", startedAt.toString());
+        s.put("elapsedMs", (now - startNanos) / 1_000_000);
+        s.put("rowsRead", rowsRead.get());
+        s.put("rowsWritten", written);
+        s.put("checkpointRows", checkpointRows);
+        s.put("checkpointKey", checkpointKey);
+        s.put("rowsPerSecond", elapsedSec > 0 ? Math.round(written / elapsedSec) : 0);
+        s.put("recentRowsPerSecond", recentRate());
+        if (error != null) s.put("error", error);
+        return s;
+    }
+
+    // Rate over the last RATE_SAMPLES chunk commits, which tracks current speed rather than the job average.
+    private long recentRate() {
+        int n = Math.min(sampleCount, RATE_SAMPLES);
+        if (n < 2) return 0;
+        int newest = (sampleCount - 1) % RATE_SAMPLES;
+        int oldest = (sampleCount - n) % RATE_SAMPLES;
+        long dt = sampleNanos[newest] - sampleNanos[oldest];
+        if (dt <= 0) return 0;
+        return Math.round((sampleRows[newest] - sampleRows[oldest]) * 1e9 / dt);
+    }
+}
@@ -0,0 +1,134 @@
+package com.kendricklabernetes.migration;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts, tracks and resumes cross-backend quote migrations for the admin API.
+ *
+ * Jobs connect to the source and target with explicit connection strings (like the Admin
+ * explorer endpoints), so data can be moved between H2, Postgres and Mongo regardless of
+ * which store the running pod is configured for.
+ */
+@Service
+public class MigrationService {
+    private static final Logger log = LoggerFactory.getLogger(MigrationService.class);
+
+    private final Map<String, MigrationJob> jobs = new ConcurrentHashMap<>();
+    private final MigrationCheckpointStore checkpoints;
+    private final int defaultChunkSize;
+    private final int defaultWorkers;
+
+    public MigrationService(@Value("${migration.checkpoint-dir:migration-checkpoints}") String checkpointDir,
+                            @Value("${migration.chunk-size:1000}") int defaultChunkSize,
+                            @Value("${migration.workers:4}") int defaultWorkers) {
+        this.checkpoints = new MigrationCheckpointStore(Paths.get(checkpointDir));
+        this.defaultChunkSize = defaultChunkSize;
+        this.defaultWorkers = defaultWorkers;
+    }
+
+    /**
+     * Start a job from an admin request body. When {@code jobId} names a job with a stored
+     * checkpoint, the new run resumes after the last committed key.
+     *
+     * @throws IllegalArgumentException for invalid input or a mismatched/finished checkpoint
+     * @throws IllegalStateException when the job id is already running
+     */
+    public MigrationJob start(Map<String, Object> body) throws IOException {
+        MigrationEndpoint source = MigrationEndpoint.fromBody(body.get("source"), "source");
+        MigrationEndpoint target = MigrationEndpoint.fromBody(body.get("target"), "target");
+        int chunkSize = intParam(body, "chunkSize", defaultChunkSize, 1, 50_000);
+        int workers = intParam(body, "workers", defaultWorkers, 1, 64);
+        Object requestedId = body.get("jobId");
+        String id = requestedId != null ? requestedId.toString() : UUID.randomUUID().toString().substring(0, 8);
+        if (!id.matches("[A-Za-z0-9_-]{1,64}")) {
+            throw new IllegalArgumentException("jobId may only contain letters, digits, '-' and '_'");
+        }
+
+        MigrationCheckpoint resume = checkpoints.load(id);
+        if (resume != null) {
+            if (!source.describe().equals(resume.getSource()) || !target.describe().equals(resume.getTarget())) {
+                throw new IllegalArgumentException("Checkpoint for job " + id + " was recorded for "
+                    + resume.getSource() + " -> " + resume.getTarget());
+            }
+            if (resume.isCompleted()) {
+                throw new IllegalArgumentException("Job " + id + " already completed");
+            }
+        }
+
+        MigrationJob job = new MigrationJob(id, source, target, chunkSize, workers, resume, checkpoints,
+            MigrationService::openSource, MigrationService::openSink);
+        // One atomic step: a finished job with this id is replaced, a running one is kept and the request refused.
+        MigrationJob registered = jobs.compute(id, (key, existing) ->
+            existing != null && existing.getState() == MigrationJob.State.RUNNING ? existing : job);
+        if (registered != job) {
+            throw new IllegalStateException("Job " + id + " is already running");
+        }
+        Thread runner = new Thread(job, "migration-" + id);
+        runner.setDaemon(true);
+        runner.start();
+        return job;
+    }
+
+    public MigrationJob get(String id) {
+        return jobs.get(id);
+    }
+
+    public List<Map<String, Object>> list() {
+        List<Map<String, Object>> all = new ArrayList<>();
+        for (MigrationJob job : jobs.values()) {
+            all.add(job.status());
+        }
+        return all;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (MigrationJob job : jobs.values()) {
+            if (job.getState() == MigrationJob.State.RUNNING) {
+                log.info("Cancelling migration {} on shutdown; resume it with the same jobId", job.getId());
+                job.cancel();
+            }
+        }
+    }
+
+    private static int intParam(Map<String, Object> body, String key, int def, int min, int max) {
+        Object v = body.get(key);
+        if (v == null) return def;
+        int n = v instanceof Number ? ((Number) v).intValue() : Integer.parseInt(v.toString());
+        if (n < min || n > max) {
+            throw new IllegalArgumentException(key + " must be between " + min + " and " + max);
+        }
+        return n;
+    }
+
+    private static QuoteSource openSource(MigrationEndpoint e) {
+        if (e.isMongo()) return new MongoQuoteSource(e);
+        try {
+            return new JdbcQuoteSource(e);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot open source " + e.describe() + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    private static QuoteSink openSink(MigrationEndpoint e) {
+        if (e.isMongo()) return new MongoQuoteSink(e);
+        try {
+            return new JdbcQuoteSink(e);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot open target " + e.describe() + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.kendricklabernetes.migration;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a chunk with one unordered bulk write, letting the server apply the batch in parallel.
+ *
+ * Each row is an upsert keyed on (quoteNumber, timestamp) that only sets fields on insert,
+ * so chunks written again after a resume (see {@link MigrationJob}) leave existing quotes alone.
+ */
+public class MongoQuoteSink implements QuoteSink {
+    private static final Logger log = LoggerFactory.getLogger(MongoQuoteSink.class);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+    private final MongoClient client;
+    private final MongoCollection<Document> collection;
+
+    public MongoQuoteSink(MigrationEndpoint endpoint) {
+        this.client = MongoClients.create(endpoint.getConnectionString());
+        this.collection = client.getDatabase(endpoint.getDatabase()).getCollection(endpoint.getTable());
+        try {
+            collection.createIndex(Indexes.ascending("quoteNumber", "timestamp"));
+        } catch (RuntimeException e) {
+            // The upserts stay correct without the index, only slower; an unreachable server fails the first chunk.
+            log.warn("Could not ensure (quoteNumber, timestamp) index on {}: {}", endpoint.getTable(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void writeChunk(List<QuoteRow> rows) {
+        List<WriteModel<Document>> writes = new ArrayList<>(rows.size());
+        for (QuoteRow row : rows) {
+            Document doc = new Document("quote", row.getQuote())
+                .append("timestamp", row.getTimestamp())
+                .append("ip", row.getIp())
+                .append("quoteNumber", row.getQuoteNumber());
+            writes.add(new UpdateOneModel<>(
+                Filters.and(Filters.eq("quoteNumber", row.getQuoteNumber()), Filters.eq("timestamp", row.getTimestamp())),
+                new Document("$setOnInsert", doc), UPSERT));
+        }
+        collection.bulkWrite(writes, UNORDERED);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,47 @@
+package com.kendricklabernetes.migration;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paged reader over the quotes collection ordered by `_id`.
+ */
+public class MongoQuoteSource implements QuoteSource {
+    private final MongoClient client;
+    private final MongoCollection<Document> collection;
+
+    public MongoQuoteSource(MigrationEndpoint endpoint) {
+        this.client = MongoClients.create(endpoint.getConnectionString());
+        this.collection = client.getDatabase(endpoint.getDatabase()).getCollection(endpoint.getTable());
+    }
+
+    @Override
+    public List<QuoteRow> nextChunk(String afterKey, int limit) {
+        Bson filter = afterKey == null ? new Document() : Filters.gt("_id", toId(afterKey));
+        List<QuoteRow> rows = new ArrayList<>(limit);
+        for (Document d : collection.find(filter).sort(Sorts.ascending("_id")).limit(limit).batchSize(limit)) {
+            Object number = d.get("quoteNumber");
+            rows.add(new QuoteRow(String.valueOf(d.get("_id")), d.getString("quote"), d.getString("timestamp"),
+                d.getString("ip"), number instanceof Number ? ((Number) number).intValue() : 0));
+        }
+        return rows;
+    }
+
+    private static Object toId(String key) {
+        return ObjectId.isValid(key) ? new ObjectId(key) : key;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,50 @@
+package com.kendricklabernetes.migration;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Store-neutral quote row moved by the migration pipeline.
+ *
+ * `key` is the source primary key rendered as a string (JDBC `id` or Mongo `_id`)
+ * and is only used for keyset paging and checkpointing; targets assign their own ids.
+ */
+public final class QuoteRow {
+    private final String key;
+    private final String quote;
+    private final String timestamp;
+    private final String ip;
+    private final int quoteNumber;
+
+    public QuoteRow(String key, String quote, String timestamp, String ip, int quoteNumber) {
+        this.key = key;
+        this.quote = quote;
+        this.timestamp = timestamp;
+        this.ip = ip;
+        this.quoteNumber = quoteNumber;
+    }
+
+    public String getKey() { return key; }
+    public String getQuote() { return quote; }
+    public String getTimestamp() { return timestamp; }
+    public String getIp() { return ip; }
+    public int getQuoteNumber() { return quoteNumber; }
+
+    /**
+     * Value for a target's {@code created_at} column (the partition key of a partitioned
+     * Postgres quote table): the quote's own ISO-8601 timestamp, so restored or migrated
+     * history lands in its original month, or now when the timestamp is missing or unparseable.
+     */
+    public OffsetDateTime createdAt() {
+        if (timestamp != null) {
+            try {
+                return Instant.parse(timestamp).atOffset(ZoneOffset.UTC);
+            } catch (DateTimeParseException e) {
+                // fall through: legacy rows may carry free-form timestamps
+            }
+        }
+        return OffsetDateTime.now(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kendricklabernetes.migration;
+
+import java.util.List;
+
+/**
+ * Bulk-writes quotes to a store. Each migration worker owns one sink, so implementations
+ * do not need to be thread-safe.
+ */
+public interface QuoteSink extends AutoCloseable {
+    void writeChunk(List<QuoteRow> rows) throws Exception;
+
+    @Override
+    void close();
+}
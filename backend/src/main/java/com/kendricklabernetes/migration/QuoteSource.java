@@ -0,0 +1,17 @@
+package com.kendricklabernetes.migration;
+
+import java.util.List;
+
+/**
+ * Reads quotes from a store in ascending primary-key order.
+ */
+public interface QuoteSource extends AutoCloseable {
+    /**
+     * Return up to {@code limit} rows whose key is strictly greater than {@code afterKey}
+     * (or from the beginning when {@code afterKey} is null), ordered by key.
+     */
+    List<QuoteRow> nextChunk(String afterKey, int limit) throws Exception;
+
+    @Override
+    void close();
+}
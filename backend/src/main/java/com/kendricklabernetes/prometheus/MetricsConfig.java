@@ -1,9 +1,78 @@
 package com.kendricklabernetes.prometheus;
 
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Micrometer / Prometheus configuration: common tags plus the driver-level metrics needed
+ * to see where request time goes below the controller.
+ *
+ * Spring Boot already binds Hikari pools ({@code hikaricp_*}), Mongo command timers by
+ * command name ({@code mongodb_driver_commands}), Mongo pool gauges and, with
+ * {@code hibernate.generate_statistics} and hibernate-micrometer on the classpath,
+ * Hibernate statistics. This class adds the tags, the Mongo pool checkout timer and
+ * latency histograms for those timers so they can be aggregated across pods.
+ */
+@Configuration
 public class MetricsConfig {
-    // Configuration holder for Micrometer / Prometheus metrics.
-    //
-    // This class is intentionally minimal in the demo; add beans or
-    // configuration here if you need to register custom MeterRegistry
-    // settings, common tags, or additional metric binders.
+    private static final List<String> LATENCY_METRICS = List.of(
+        "hikaricp.connections.acquire",
+        "hikaricp.connections.usage",
+        "mongodb.driver.commands",
+        "mongodb.driver.pool.checkout",
+        "http.server.requests");
+
+    /** Tags every meter with the app, pod and active backend so dashboards can split by them. */
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags(Environment env) {
+        String dbType = env.getProperty("DB_TYPE", "h2").trim().toLowerCase();
+        String pod = env.getProperty("POD_NAME", env.getProperty("HOSTNAME", localHostName()));
+        return registry -> registry.config().commonTags(
+            "application", "kendrick-labernetes",
+            "pod", pod,
+            "backend", dbType);
+    }
+
+    /** Publish histogram buckets for pool-wait, driver and request latency timers. */
+    @Bean
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!LATENCY_METRICS.contains(id.getName())) return config;
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(true)
+                    .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                    .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+
+    /** Only applied when a Mongo client is auto-configured (DB_TYPE=mongo). */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCheckoutMetrics(MeterRegistry registry) {
+        return builder -> builder.applyToConnectionPoolSettings(
+            pool -> pool.addConnectionPoolListener(new MongoPoolCheckoutListener(registry)));
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.kendricklabernetes.prometheus;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times how long operations wait to check a connection out of the Mongo driver pool.
+ *
+ * Micrometer's own pool listener only reports pool sizes; this fills the gap between
+ * "command latency" and "request latency" when the pool is exhausted.
+ */
+public class MongoPoolCheckoutListener implements ConnectionPoolListener {
+    private final MeterRegistry registry;
+    // Built once per (server, outcome): the listener runs on every checkout, on the request path.
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public MongoPoolCheckoutListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record(event.getConnectionId().getServerId().getAddress(), "success",
+            event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getServerId().getAddress(), event.getReason().name().toLowerCase(),
+            event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(ServerAddress address, String outcome, long nanos) {
+        String server = address.toString();
+        timers.computeIfAbsent(server + '|' + outcome, k -> Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time spent waiting to check a connection out of the Mongo pool")
+                .tag("server.address", server)
+                .tag("outcome", outcome)
+                .register(registry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
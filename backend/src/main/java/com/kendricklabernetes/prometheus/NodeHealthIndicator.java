@@ -1,12 +1,225 @@
 package com.kendricklabernetes.prometheus;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Actuator health for the active database, exposed as the {@code node} component of
+ * {@code /actuator/health} and of the readiness group.
+ *
+ * A background prober pings the store every {@code health.db.interval-ms} and keeps a
+ * window of recent latencies; {@link #health()} only returns the last computed result, so
+ * probes never wait on the database. Status rules:
+ * - DOWN after {@code health.db.down-after-failures} consecutive failed/timed-out pings
+ * - DEGRADED when any recent ping failed or the window p95 exceeds {@code health.db.degraded-p95-ms}
+ * - UP otherwise (UNKNOWN until the first ping completes)
+ */
 @Component
-public class NodeHealthIndicator {
-    // Lightweight node health helper used by the Admin UI.
-    //
-    // In this demo the class is a simple placeholder; expand it to
-    // provide application-specific health checks or integrate with
-    // Spring Boot Actuator health indicators as needed.
+public class NodeHealthIndicator implements HealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "Database responding slowly or intermittently");
+
+    private static final Logger log = LoggerFactory.getLogger(NodeHealthIndicator.class);
+    private static final int WINDOW = 64;
+
+    private final String dbType;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final long intervalMs;
+    private final long timeoutMs;
+    private final long degradedP95Ms;
+    private final int downAfterFailures;
+    private final Timer probeTimer;
+
+    // Probe bookkeeping is only touched by the scheduler thread.
+    private final long[] latenciesMs = new long[WINDOW];
+    private int samples;
+    private int consecutiveFailures;
+    private int recentFailures;
+    private String lastError;
+    private Future<?> inFlight;
+
+    private volatile Health cached = Health.unknown().withDetail("reason", "no probe completed yet").build();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService pinger;
+
+    public NodeHealthIndicator(Environment env, ObjectProvider<DataSource> dataSource,
+                               ObjectProvider<MongoTemplate> mongoTemplate, MeterRegistry registry) {
+        String type = env.getProperty("DB_TYPE");
+        this.dbType = type == null || type.isBlank() ? "h2" : type.trim().toLowerCase();
+        this.dataSource = dataSource;
+        this.mongoTemplate = mongoTemplate;
+        this.intervalMs = env.getProperty("health.db.interval-ms", Long.class, 5000L);
+        this.timeoutMs = env.getProperty("health.db.timeout-ms", Long.class, 2000L);
+        this.degradedP95Ms = env.getProperty("health.db.degraded-p95-ms", Long.class, 250L);
+        this.downAfterFailures = env.getProperty("health.db.down-after-failures", Integer.class, 3);
+        this.probeTimer = Timer.builder("db_health_probe_latency")
+            .description("Latency of background database health pings")
+            .tag("db", dbType)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        Gauge.builder("db_health_status", this, h -> statusValue(h.cached.getStatus()))
+            .description("Database health: 1=UP, 0.5=DEGRADED, 0=DOWN, -1=UNKNOWN")
+            .tag("db", dbType)
+            .register(registry);
+    }
+
+    @Override
+    public Health health() {
+        return cached;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "db-health-prober"));
+        pinger = Executors.newSingleThreadExecutor(r -> daemon(r, "db-health-ping"));
+        scheduler.scheduleWithFixedDelay(this::probe, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        pinger.shutdownNow();
+    }
+
+    private void probe() {
+        if (inFlight != null && !inFlight.isDone()) {
+            // A ping that ignored its timeout is still stuck in the driver; don't queue another.
+            lastError = "previous ping still blocked";
+            record(false, timeoutMs);
+            return;
+        }
+        long start = System.nanoTime();
+        Future<?> ping = pinger.submit(() -> {
+            ping();
+            return null;
+        });
+        inFlight = ping;
+        boolean ok;
+        try {
+            ping.get(timeoutMs, TimeUnit.MILLISECONDS);
+            ok = true;
+        } catch (TimeoutException e) {
+            // Not cancelled: interrupting a thread mid class-load closes the executable jar's shared
+            // file channel, breaking class loading app-wide. The next probe sees it still in flight.
+            ok = false;
+            lastError = "ping timed out after " + timeoutMs + " ms";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            ok = false;
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            lastError = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        probeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        record(ok, elapsedNanos / 1_000_000);
+    }
+
+    private void ping() throws Exception {
+        if ("mongo".equals(dbType)) {
+            MongoTemplate mongo = mongoTemplate.getIfAvailable();
+            if (mongo == null) throw new IllegalStateException("MongoTemplate unavailable");
+            mongo.executeCommand(new Document("ping", 1));
+            return;
+        }
+        DataSource ds = dataSource.getIfAvailable();
+        if (ds == null) throw new IllegalStateException("DataSource unavailable");
+        try (Connection conn = ds.getConnection()) {
+            if (!conn.isValid((int) Math.max(1, timeoutMs / 1000))) {
+                throw new IllegalStateException("connection reported invalid");
+            }
+        }
+    }
+
+    // Package-private so tests can feed synthetic probe results.
+    void record(boolean ok, long latencyMs) {
+        int slot = samples++ % WINDOW;
+        // A failed ping counts as a full-timeout sample so it also pushes up the percentiles.
+        latenciesMs[slot] = ok ? latencyMs : Math.max(latencyMs, timeoutMs);
+        if (ok) {
+            consecutiveFailures = 0;
+            recentFailures = Math.max(0, recentFailures - 1);
+        } else {
+            consecutiveFailures++;
+            recentFailures = Math.min(WINDOW, recentFailures + WINDOW / 8);
+        }
+
+        int n = Math.min(samples, WINDOW);
+        long[] sorted = Arrays.copyOf(latenciesMs, n);
+        Arrays.sort(sorted);
+        long p50 = percentile(sorted, 0.50);
+        long p95 = percentile(sorted, 0.95);
+        long p99 = percentile(sorted, 0.99);
+
+        Status status;
+        if (consecutiveFailures >= downAfterFailures) {
+            status = Status.DOWN;
+        } else if (recentFailures > 0 || p95 > degradedP95Ms) {
+            status = DEGRADED;
+        } else {
+            status = Status.UP;
+        }
+        Health.Builder b = Health.status(status)
+            .withDetail("database", dbType)
+            .withDetail("lastProbe", Instant.now().toString())
+            .withDetail("lastLatencyMs", latencyMs)
+            .withDetail("p50Ms", p50)
+            .withDetail("p95Ms", p95)
+            .withDetail("p99Ms", p99)
+            .withDetail("samples", n)
+            .withDetail("consecutiveFailures", consecutiveFailures);
+        if ((!ok || recentFailures > 0) && lastError != null) {
+            b.withDetail("lastError", lastError);
+        }
+        Health next = b.build();
+        if (!next.getStatus().equals(cached.getStatus())) {
+            log.info("Database health changed {} -> {} (p95={} ms, consecutiveFailures={})",
+                cached.getStatus(), status, p95, consecutiveFailures);
+        }
+        cached = next;
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    private static double statusValue(Status s) {
+        if (Status.UP.equals(s)) return 1;
+        if (DEGRADED.equals(s)) return 0.5;
+        if (Status.DOWN.equals(s)) return 0;
+        return -1;
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
 }
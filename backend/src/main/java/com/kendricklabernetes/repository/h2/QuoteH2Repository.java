@@ -1,7 +1,12 @@
 package com.kendricklabernetes.repository.h2;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.kendricklabernetes.model.h2.QuoteH2;
 
 public interface QuoteH2Repository extends JpaRepository<QuoteH2, Long> {
+
+    // Numbering follows the highest number, not count(): deleted quotes would otherwise hand theirs out again.
+    @Query("SELECT COALESCE(MAX(q.quoteNumber), 0) FROM QuoteH2 q")
+    int findMaxQuoteNumber();
 }
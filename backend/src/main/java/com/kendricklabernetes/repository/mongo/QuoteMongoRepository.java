@@ -3,5 +3,5 @@ package com.kendricklabernetes.repository.mongo;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import com.kendricklabernetes.model.mongo.QuoteMongo;
 
-public interface QuoteMongoRepository extends MongoRepository<QuoteMongo, String> {
+public interface QuoteMongoRepository extends MongoRepository<QuoteMongo, String>, QuoteMongoRepositoryCustom {
 }
@@ -0,0 +1,26 @@
+package com.kendricklabernetes.repository.mongo;
+
+import com.kendricklabernetes.model.mongo.QuoteMongo;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Quote operations that apply the tuned read preference, write concern, batch size and
+ * public projection ({@link com.kendricklabernetes.config.mongo.MongoQuoteTuning}).
+ */
+public interface QuoteMongoRepositoryCustom {
+
+    /** Insert with the tuned write concern; sets the generated id on {@code quote}. */
+    QuoteMongo insertTuned(QuoteMongo quote);
+
+    /** Quote with the highest number, via the {@code quoteNumber} index and always from the primary. */
+    Optional<QuoteMongo> findLatestPublic();
+
+    /** Highest quote number (0 when empty), read from the primary through the {@code quoteNumber} index. */
+    int findMaxQuoteNumber();
+
+    List<QuoteMongo> findAllPublic();
+
+    Optional<QuoteMongo> findPublicById(String id);
+}
@@ -0,0 +1,124 @@
+package com.kendricklabernetes.repository.mongo;
+
+import com.kendricklabernetes.config.mongo.MongoQuoteTuning;
+import com.kendricklabernetes.model.mongo.QuoteMongo;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Spring Data fragment behind {@link QuoteMongoRepositoryCustom}. Works on the driver
+ * collection so read preference and write concern can be set per operation, and maps
+ * documents with the template's converter so results match the derived repository methods.
+ * Driver exceptions are translated like MongoTemplate's, so callers still see Spring's
+ * DataAccessException hierarchy.
+ */
+class QuoteMongoRepositoryImpl implements QuoteMongoRepositoryCustom {
+    private static final Logger log = LoggerFactory.getLogger(QuoteMongoRepositoryImpl.class);
+
+    private final MongoConverter converter;
+    private final PersistenceExceptionTranslator translator;
+    private final MongoCollection<Document> reads;
+    private final MongoCollection<Document> primaryReads;
+    private final MongoCollection<Document> writes;
+    private final MongoQuoteTuning tuning;
+
+    QuoteMongoRepositoryImpl(MongoTemplate template, MongoQuoteTuning tuning) {
+        MongoCollection<Document> quotes = template.getCollection(template.getCollectionName(QuoteMongo.class));
+        this.converter = template.getConverter();
+        this.translator = template.getExceptionTranslator();
+        this.primaryReads = quotes.withReadPreference(ReadPreference.primary());
+        this.reads = ReadPreference.primary().equals(tuning.readPreference())
+            ? primaryReads : quotes.withReadPreference(tuning.readPreference());
+        this.writes = quotes.withWriteConcern(tuning.writeConcern());
+        this.tuning = tuning;
+        try {
+            quotes.createIndex(Indexes.descending("quoteNumber"));
+        } catch (RuntimeException e) {
+            log.warn("Could not ensure quoteNumber index on quotes: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public QuoteMongo insertTuned(QuoteMongo quote) {
+        Document doc = new Document();
+        converter.write(quote, doc);
+        translated(() -> writes.insertOne(doc));
+        quote.setId(doc.getObjectId("_id").toHexString());
+        return quote;
+    }
+
+    @Override
+    public Optional<QuoteMongo> findLatestPublic() {
+        // Primary regardless of the tuned preference: a client that just posted must see its quote as the latest.
+        Document doc = translated(() -> publicFind(primaryReads, new Document()).sort(Sorts.descending("quoteNumber")).limit(1).first());
+        return Optional.ofNullable(doc).map(this::read);
+    }
+
+    @Override
+    public int findMaxQuoteNumber() {
+        // Always the primary: a lagging secondary would hand out a number that is already taken.
+        Document doc = translated(() -> primaryReads.find().projection(Projections.include("quoteNumber"))
+            .sort(Sorts.descending("quoteNumber")).limit(1).first());
+        Object n = doc == null ? null : doc.get("quoteNumber");
+        return n instanceof Number ? ((Number) n).intValue() : 0;
+    }
+
+    @Override
+    public List<QuoteMongo> findAllPublic() {
+        return translated(() -> {
+            FindIterable<Document> find = publicFind(reads, new Document());
+            if (tuning.batchSize() > 0) find.batchSize(tuning.batchSize());
+            List<QuoteMongo> out = new ArrayList<>();
+            for (Document doc : find) out.add(read(doc));
+            return out;
+        });
+    }
+
+    @Override
+    public Optional<QuoteMongo> findPublicById(String id) {
+        Object key = ObjectId.isValid(id) ? new ObjectId(id) : id;
+        Document doc = translated(() -> publicFind(reads, Filters.eq("_id", key)).first());
+        if (doc == null && reads != primaryReads) {
+            // A just-inserted quote may not have reached the secondary yet; a miss is confirmed on the primary.
+            doc = translated(() -> publicFind(primaryReads, Filters.eq("_id", key)).first());
+        }
+        return Optional.ofNullable(doc).map(this::read);
+    }
+
+    private FindIterable<Document> publicFind(MongoCollection<Document> collection, Bson filter) {
+        FindIterable<Document> find = collection.find(filter);
+        return tuning.publicProjection() != null ? find.projection(tuning.publicProjection()) : find;
+    }
+
+    private QuoteMongo read(Document doc) {
+        return converter.read(QuoteMongo.class, doc);
+    }
+
+    private <T> T translated(Supplier<T> op) {
+        try {
+            return op.get();
+        } catch (RuntimeException e) {
+            DataAccessException translated = translator.translateExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+}
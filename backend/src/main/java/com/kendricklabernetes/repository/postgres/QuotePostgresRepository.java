@@ -1,7 +1,29 @@
 package com.kendricklabernetes.repository.postgres;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.kendricklabernetes.model.postgres.QuotePostgres;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
 public interface QuotePostgresRepository extends JpaRepository<QuotePostgres, Long> {
+
+    // Numbering follows the highest number, not count(): detaching old partitions removes rows.
+    @Query("SELECT COALESCE(MAX(q.quoteNumber), 0) FROM QuotePostgres q")
+    int findMaxQuoteNumber();
+
+    // created_at exists only on the partitioned table (quotes.postgres.partitioning.enabled);
+    // bounding it lets the planner prune partitions outside [from, to).
+
+    @Query(value = "SELECT * FROM quote_postgres WHERE created_at >= :from AND created_at < :to "
+        + "ORDER BY quote_number DESC LIMIT 1", nativeQuery = true)
+    Optional<QuotePostgres> findLatestCreatedBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    @Query(value = "SELECT * FROM quote_postgres WHERE created_at >= :from AND created_at < :to "
+        + "ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
+    List<QuotePostgres> findCreatedBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to,
+                                           @Param("limit") int limit);
 }
@@ -0,0 +1,50 @@
+package com.kendricklabernetes.resilience;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes every quote repository call through its store's {@link StoreGuard}, so the
+ * controller needs no changes to fail fast when a store is down.
+ *
+ * Both JPA repositories talk to the single configured DataSource, so they share the
+ * guard of the active JPA store ({@code h2} or {@code postgres}).
+ */
+@Aspect
+@Component
+public class RepositoryGuardAspect {
+    private final StoreGuards guards;
+    private final String jpaStore;
+
+    public RepositoryGuardAspect(StoreGuards guards, Environment env) {
+        this.guards = guards;
+        String dbType = env.getProperty("DB_TYPE", "h2").trim().toLowerCase();
+        this.jpaStore = "postgres".equals(dbType) ? "postgres" : "h2";
+    }
+
+    @Around("this(com.kendricklabernetes.repository.mongo.QuoteMongoRepository)")
+    public Object guardMongo(ProceedingJoinPoint pjp) throws Throwable {
+        return guarded("mongo", pjp);
+    }
+
+    @Around("this(com.kendricklabernetes.repository.postgres.QuotePostgresRepository)"
+        + " || this(com.kendricklabernetes.repository.h2.QuoteH2Repository)")
+    public Object guardJpa(ProceedingJoinPoint pjp) throws Throwable {
+        return guarded(jpaStore, pjp);
+    }
+
+    private Object guarded(String store, ProceedingJoinPoint pjp) throws Exception {
+        return guards.forStore(store).call(() -> {
+            try {
+                return pjp.proceed();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+}
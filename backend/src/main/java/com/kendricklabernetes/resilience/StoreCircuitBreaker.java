@@ -0,0 +1,148 @@
+package com.kendricklabernetes.resilience;
+
+/**
+ * Count-based circuit breaker for one store.
+ *
+ * CLOSED records the outcome of the last {@code windowSize} calls and opens once at least
+ * {@code minimumCalls} were seen and either the failure rate or the slow-call rate crosses
+ * its threshold. OPEN rejects every call until {@code openDurationMs} has passed, then
+ * HALF_OPEN lets {@code halfOpenCalls} trial calls through: all succeeding closes the
+ * circuit, any failure re-opens it. A trial that has not reported back within
+ * {@code slowCallMs} would count as slow anyway, so the circuit re-opens instead of
+ * waiting on it. When such a trial finally returns it is slow, so it cannot close the circuit.
+ */
+public class StoreCircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Receives state changes (called while holding the breaker lock; keep it cheap). */
+    public interface TransitionListener {
+        void onTransition(State from, State to);
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final TransitionListener listener;
+
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private long lastTrialAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public StoreCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                               double slowCallRateThreshold, long slowCallMs, long openDurationMs,
+                               int halfOpenCalls, TransitionListener listener) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallMs * 1_000_000;
+        this.openDurationNanos = openDurationMs * 1_000_000;
+        this.halfOpenCalls = halfOpenCalls;
+        this.listener = listener;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    /** Returns false when the call must be rejected without touching the store. */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nowNanos - openedAt < openDurationNanos) return false;
+                transition(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+                // fall through to hand out the first trial permit
+            case HALF_OPEN:
+            default:
+                if (halfOpenPermits == 0) {
+                    // Every permit is out; if even the newest trial is overdue, the store is hanging.
+                    if (nowNanos - lastTrialAt >= slowCallNanos) open(nowNanos);
+                    return false;
+                }
+                halfOpenPermits--;
+                lastTrialAt = nowNanos;
+                return true;
+        }
+    }
+
+    /** Record the outcome of a call that was admitted by {@link #tryAcquire(long)}. */
+    public synchronized void record(boolean failure, long durationNanos, long nowNanos) {
+        boolean isSlow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failure || isSlow) {
+                open(nowNanos);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) return; // late result of a call admitted before the circuit opened
+
+        if (recorded == windowSize) {
+            if (failed[next]) failures--;
+            if (slow[next]) slowCalls--;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = isSlow;
+        if (failure) failures++;
+        if (isSlow) slowCalls++;
+        next = (next + 1) % windowSize;
+
+        if (recorded >= minimumCalls
+                && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+            open(nowNanos);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Failure percentage over the current window (0 when empty). */
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    /** Slow-call percentage over the current window (0 when empty). */
+    public synchronized double slowCallRate() {
+        return recorded == 0 ? 0 : slowCalls * 100.0 / recorded;
+    }
+
+    private void open(long nowNanos) {
+        openedAt = nowNanos;
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        if (from == to) return;
+        state = to;
+        if (listener != null) listener.onTransition(from, to);
+    }
+}
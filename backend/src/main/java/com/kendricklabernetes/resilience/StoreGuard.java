@@ -0,0 +1,118 @@
+package com.kendricklabernetes.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker plus concurrency bulkhead in front of one store.
+ *
+ * The bulkhead caps how many request threads can be inside the store at once, so a
+ * hanging database ties up at most {@code maxConcurrent} threads; the breaker turns a
+ * failing or slow store into immediate {@link StoreUnavailableException}s.
+ */
+public class StoreGuard {
+    private static final Logger log = LoggerFactory.getLogger(StoreGuard.class);
+
+    private final String store;
+    private final StoreCircuitBreaker breaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Counter rejectedOpen;
+    private final Counter rejectedBulkhead;
+
+    public StoreGuard(String store, StoreGuardSettings s, MeterRegistry registry) {
+        this.store = store;
+        this.maxConcurrent = s.maxConcurrent;
+        this.maxWaitMs = s.maxWaitMs;
+        this.bulkhead = new Semaphore(s.maxConcurrent);
+        this.breaker = new StoreCircuitBreaker(s.windowSize, s.minimumCalls, s.failureRateThreshold,
+            s.slowCallRateThreshold, s.slowCallMs, s.openDurationMs, s.halfOpenCalls,
+            (from, to) -> {
+                log.warn("Circuit for store '{}' changed {} -> {}", store, from, to);
+                Counter.builder("store_circuit_transitions_total")
+                    .description("Circuit breaker state transitions per store")
+                    .tag("store", store).tag("from", from.name()).tag("to", to.name())
+                    .register(registry)
+                    .increment();
+            });
+        Gauge.builder("store_circuit_state", breaker, b -> b.getState().ordinal())
+            .description("Circuit breaker state per store: 0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+            .tag("store", store)
+            .register(registry);
+        Gauge.builder("store_bulkhead_in_use", bulkhead, b -> maxConcurrent - b.availablePermits())
+            .description("Concurrent calls currently inside the store bulkhead")
+            .tag("store", store)
+            .register(registry);
+        this.rejectedOpen = Counter.builder("store_calls_rejected_total")
+            .description("Store calls rejected without reaching the database")
+            .tag("store", store).tag("reason", "circuit_open")
+            .register(registry);
+        this.rejectedBulkhead = Counter.builder("store_calls_rejected_total")
+            .description("Store calls rejected without reaching the database")
+            .tag("store", store).tag("reason", "bulkhead_full")
+            .register(registry);
+    }
+
+    public <T> T call(Callable<T> call) throws Exception {
+        if (!acquireBulkhead()) {
+            rejectedBulkhead.increment();
+            throw new StoreUnavailableException("Store '" + store + "' is at its concurrency limit (" + maxConcurrent + ")");
+        }
+        try {
+            long start = System.nanoTime();
+            if (!breaker.tryAcquire(start)) {
+                rejectedOpen.increment();
+                throw new StoreUnavailableException("Store '" + store + "' circuit is open; failing fast");
+            }
+            boolean failure = true;
+            try {
+                T result = call.call();
+                failure = false;
+                return result;
+            } catch (Exception e) {
+                failure = countsAsFailure(e);
+                throw e;
+            } finally {
+                long end = System.nanoTime();
+                breaker.record(failure, end - start, end);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitMs <= 0) return bulkhead.tryAcquire();
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Errors caused by the request itself say nothing about the store's health.
+    private static boolean countsAsFailure(Exception e) {
+        return !(e instanceof IllegalArgumentException
+            || e instanceof EmptyResultDataAccessException
+            || e instanceof DataIntegrityViolationException
+            || e instanceof InvalidDataAccessApiUsageException);
+    }
+
+    public String getStore() { return store; }
+    public StoreCircuitBreaker.State getState() { return breaker.getState(); }
+    public double getFailureRate() { return breaker.failureRate(); }
+    public double getSlowCallRate() { return breaker.slowCallRate(); }
+    public int getInFlight() { return maxConcurrent - bulkhead.availablePermits(); }
+}
@@ -0,0 +1,30 @@
+package com.kendricklabernetes.resilience;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Breaker and bulkhead thresholds, read from {@code store.circuit.*} and {@code store.bulkhead.*}.
+ */
+public final class StoreGuardSettings {
+    final int windowSize;
+    final int minimumCalls;
+    final double failureRateThreshold;
+    final double slowCallRateThreshold;
+    final long slowCallMs;
+    final long openDurationMs;
+    final int halfOpenCalls;
+    final int maxConcurrent;
+    final long maxWaitMs;
+
+    public StoreGuardSettings(Environment env) {
+        this.windowSize = env.getProperty("store.circuit.window-size", Integer.class, 20);
+        this.minimumCalls = env.getProperty("store.circuit.minimum-calls", Integer.class, 5);
+        this.failureRateThreshold = env.getProperty("store.circuit.failure-rate-threshold", Double.class, 50.0);
+        this.slowCallRateThreshold = env.getProperty("store.circuit.slow-call-rate-threshold", Double.class, 80.0);
+        this.slowCallMs = env.getProperty("store.circuit.slow-call-ms", Long.class, 2000L);
+        this.openDurationMs = env.getProperty("store.circuit.open-duration-ms", Long.class, 10000L);
+        this.halfOpenCalls = env.getProperty("store.circuit.half-open-calls", Integer.class, 3);
+        this.maxConcurrent = env.getProperty("store.bulkhead.max-concurrent", Integer.class, 25);
+        this.maxWaitMs = env.getProperty("store.bulkhead.max-wait-ms", Long.class, 0L);
+    }
+}
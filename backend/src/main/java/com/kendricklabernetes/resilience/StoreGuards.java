@@ -0,0 +1,27 @@
+package com.kendricklabernetes.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link StoreGuard} per store name ({@code h2}, {@code postgres}, {@code mongo}).
+ */
+@Component
+public class StoreGuards {
+    private final Map<String, StoreGuard> guards = new ConcurrentHashMap<>();
+    private final StoreGuardSettings settings;
+    private final MeterRegistry registry;
+
+    public StoreGuards(Environment env, MeterRegistry registry) {
+        this.settings = new StoreGuardSettings(env);
+        this.registry = registry;
+    }
+
+    public StoreGuard forStore(String store) {
+        return guards.computeIfAbsent(store, s -> new StoreGuard(s, settings, registry));
+    }
+}
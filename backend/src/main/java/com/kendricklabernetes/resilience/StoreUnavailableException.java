@@ -0,0 +1,13 @@
+package com.kendricklabernetes.resilience;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Thrown instead of calling the store when its circuit is open or its bulkhead is full.
+ * Extends {@link DataAccessResourceFailureException} so it follows the existing 503 path.
+ */
+public class StoreUnavailableException extends DataAccessResourceFailureException {
+    public StoreUnavailableException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,26 @@
+package com.kendricklabernetes.sampling;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link QuoteIdSource} over a JDBC quote table keyed by a numeric {@code id}.
+ */
+public class JdbcQuoteIdSource implements QuoteIdSource {
+    private final JdbcTemplate jdbc;
+    private final String table;
+
+    public JdbcQuoteIdSource(JdbcTemplate jdbc, String table) {
+        if (!table.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid quote table: " + table);
+        }
+        this.jdbc = jdbc;
+        this.table = table;
+    }
+
+    @Override
+    public List<String> allIds() {
+        return jdbc.query("SELECT id FROM " + table, (rs, i) -> Long.toString(rs.getLong(1)));
+    }
+}
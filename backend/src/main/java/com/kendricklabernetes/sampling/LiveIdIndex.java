@@ -0,0 +1,103 @@
+package com.kendricklabernetes.sampling;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Dense array of live quote ids with O(1) add, remove and uniform sampling.
+ *
+ * Removal swaps the last id into the freed slot, so the first {@code size} slots are always
+ * exactly the live ids and {@code ids[random.nextInt(size)]} stays uniform no matter how many
+ * quotes were deleted. A position map makes add/remove idempotent, which lets both the local
+ * write path and the change feed apply the same event. Sampling uses an optimistic read and
+ * only takes the lock when it raced with a writer.
+ */
+public final class LiveIdIndex {
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private String[] ids = new String[64];
+    private int size;
+
+    /** Adds the id; returns false if it was already present. */
+    public boolean add(String id) {
+        long stamp = lock.writeLock();
+        try {
+            if (positions.putIfAbsent(id, size) != null) return false;
+            if (size == ids.length) {
+                String[] grown = new String[ids.length * 2];
+                System.arraycopy(ids, 0, grown, 0, size);
+                ids = grown;
+            }
+            ids[size++] = id;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Removes the id by swapping the last id into its slot; returns false if absent. */
+    public boolean remove(String id) {
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = positions.remove(id);
+            if (slot == null) return false;
+            int last = --size;
+            if (slot != last) {
+                String moved = ids[last];
+                ids[slot] = moved;
+                positions.put(moved, slot);
+            }
+            ids[last] = null;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Replace the whole contents, e.g. after a full reload from the store. */
+    public void reset(Collection<String> live) {
+        long stamp = lock.writeLock();
+        try {
+            positions.clear();
+            ids = new String[Math.max(64, Integer.highestOneBit(Math.max(1, live.size())) * 2)];
+            size = 0;
+            for (String id : live) {
+                if (positions.putIfAbsent(id, size) == null) ids[size++] = id;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** A uniformly chosen live id, or null when empty. */
+    public String sample(Random random) {
+        long stamp = lock.tryOptimisticRead();
+        String[] a = ids;
+        int n = size;
+        // A racing reset may have swapped in a smaller array; validate() rejects this read anyway.
+        String id = n == 0 || n > a.length ? null : a[random.nextInt(n)];
+        if (lock.validate(stamp)) return id;
+
+        stamp = lock.readLock();
+        try {
+            return size == 0 ? null : ids[random.nextInt(size)];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (lock.validate(stamp)) return n;
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
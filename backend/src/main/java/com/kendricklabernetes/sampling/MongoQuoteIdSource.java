@@ -0,0 +1,37 @@
+package com.kendricklabernetes.sampling;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link QuoteIdSource} over the quotes collection. Also offers a server-side
+ * {@code $sample} for when the in-memory index is disabled or could not be loaded.
+ */
+public class MongoQuoteIdSource implements QuoteIdSource {
+    private final MongoCollection<Document> collection;
+
+    public MongoQuoteIdSource(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public List<String> allIds() {
+        List<String> ids = new ArrayList<>();
+        for (Document d : collection.find().projection(Projections.include("_id")).batchSize(10_000)) {
+            ids.add(String.valueOf(d.get("_id")));
+        }
+        return ids;
+    }
+
+    /** One uniformly sampled id using {@code $sample}, or null when the collection is empty. */
+    public String sampleId() {
+        Document d = collection.aggregate(List.of(Aggregates.sample(1), Aggregates.project(Projections.include("_id"))))
+            .first();
+        return d == null ? null : String.valueOf(d.get("_id"));
+    }
+}
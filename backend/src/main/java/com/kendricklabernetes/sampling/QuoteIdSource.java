@@ -0,0 +1,11 @@
+package com.kendricklabernetes.sampling;
+
+import java.util.List;
+
+/**
+ * Read access {@link RandomQuoteService} needs from a store to (re)build its index.
+ */
+public interface QuoteIdSource {
+    /** Every live quote id, as the string form used by {@code QuoteChangeEvent}. */
+    List<String> allIds();
+}
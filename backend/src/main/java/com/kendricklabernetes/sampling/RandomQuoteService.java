@@ -0,0 +1,156 @@
+package com.kendricklabernetes.sampling;
+
+import com.kendricklabernetes.events.QuoteChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Constant-time random quote selection for {@code GET /api/quotes/random}.
+ *
+ * Keeps every live quote id in a {@link LiveIdIndex}, loaded once from the active
+ * {@link QuoteIdSource} and then maintained from local writes and {@link QuoteChangeEvent}s
+ * (so deletes on other replicas are picked up too). A periodic full resync repairs any
+ * drift, e.g. when the change feed is disabled. On Mongo, {@code quotes.random.mongo-sample=true}
+ * (or an index that failed to load) uses the server-side {@code $sample} instead.
+ *
+ * While the index is not loaded, requests retry the load themselves, but at most one at a
+ * time and not before a backoff deadline that doubles after every failure (capped at 30s);
+ * the others get the {@code $sample} fallback or a 503 instead of queueing behind the scan.
+ */
+@Service
+public class RandomQuoteService {
+    private static final Logger log = LoggerFactory.getLogger(RandomQuoteService.class);
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final ObjectProvider<QuoteIdSource> sourceProvider;
+    private final boolean mongoSample;
+    private final LiveIdIndex index = new LiveIdIndex();
+    // Writes seen while a reload is scanning the store; re-applied on top of the snapshot.
+    private volatile Queue<Runnable> duringReload;
+    private volatile boolean loaded;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final long initialBackoffMs;
+    private long backoffMs;
+    private volatile long nextLoadAttempt;
+
+    public RandomQuoteService(ObjectProvider<QuoteIdSource> sourceProvider,
+                              @Value("${quotes.random.mongo-sample:false}") boolean mongoSample,
+                              @Value("${quotes.random.reload-backoff-ms:1000}") long reloadBackoffMs) {
+        this.sourceProvider = sourceProvider;
+        this.mongoSample = mongoSample;
+        this.initialBackoffMs = reloadBackoffMs;
+        this.backoffMs = reloadBackoffMs;
+    }
+
+    /**
+     * A uniformly chosen live quote id, or null when there are no quotes. The id may belong
+     * to a quote another replica just deleted; callers drop it with {@link #removed} and retry.
+     *
+     * @throws IllegalStateException when no index could be loaded and no fallback exists
+     */
+    public String pick() {
+        QuoteIdSource source = sourceProvider.getIfAvailable();
+        if (source instanceof MongoQuoteIdSource mongo && (mongoSample || !loaded && !loadOnDemand())) {
+            return mongo.sampleId();
+        }
+        if (!loaded && !loadOnDemand()) {
+            throw new IllegalStateException("Random quote index is not loaded");
+        }
+        return index.sample(ThreadLocalRandom.current());
+    }
+
+    public void added(String id) {
+        apply(() -> index.add(id));
+    }
+
+    public void removed(String id) {
+        apply(() -> index.remove(id));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @EventListener
+    public void onQuoteChange(QuoteChangeEvent event) {
+        if (event.getId() == null) return;
+        if (event.getType() == QuoteChangeEvent.Type.INSERTED) {
+            added(event.getId());
+        } else {
+            removed(event.getId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!mongoSample) reload();
+    }
+
+    @Scheduled(initialDelayString = "${quotes.random.resync-interval-ms:300000}",
+               fixedDelayString = "${quotes.random.resync-interval-ms:300000}")
+    public void resync() {
+        if (loaded) reload();
+    }
+
+    /**
+     * Load from a request: skipped (false) while another load runs or the backoff after a
+     * failed one has not expired, so a down store is not scanned once per request.
+     */
+    private boolean loadOnDemand() {
+        if (System.currentTimeMillis() < nextLoadAttempt || !reloadLock.tryLock()) return false;
+        try {
+            return loaded || reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /** Rebuild the index from the store; false when no source is available or the scan failed. */
+    public boolean reload() {
+        reloadLock.lock();
+        try {
+            QuoteIdSource source = sourceProvider.getIfAvailable();
+            if (source == null) return false;
+            Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+            duringReload = pending;
+            try {
+                List<String> ids = source.allIds();
+                index.reset(ids);
+                duringReload = null;
+                Runnable op;
+                while ((op = pending.poll()) != null) op.run();
+                loaded = true;
+                backoffMs = initialBackoffMs;
+                nextLoadAttempt = 0;
+                log.info("Random quote index loaded with {} ids", index.size());
+                return true;
+            } catch (Exception e) {
+                duringReload = null;
+                nextLoadAttempt = System.currentTimeMillis() + backoffMs;
+                log.warn("Unable to load random quote index, next on-demand attempt in {} ms: {}", backoffMs, e.getMessage());
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+                return false;
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void apply(Runnable op) {
+        op.run();
+        Queue<Runnable> pending = duringReload;
+        if (pending != null) pending.add(op);
+    }
+}
@@ -0,0 +1,75 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SnapshotStore} over a JDBC quote table, paged by {@code id}. When the table has a
+ * {@code created_at} column (partitioned Postgres), restored rows get their quote timestamp
+ * there instead of the column default of now().
+ */
+public class JdbcSnapshotStore implements SnapshotStore {
+    private static final RowMapper<QuoteRow> ROW = (rs, i) -> new QuoteRow(Long.toString(rs.getLong(1)),
+        rs.getString(2), rs.getString(3), rs.getString(4), rs.getInt(5));
+
+    private final JdbcTemplate jdbc;
+    private final String table;
+    private volatile Boolean hasCreatedAt;
+
+    public JdbcSnapshotStore(JdbcTemplate jdbc, String table) {
+        if (!table.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid quote table: " + table);
+        }
+        this.jdbc = jdbc;
+        this.table = table;
+    }
+
+    @Override
+    public List<QuoteRow> nextChunk(String afterKey, int limit) {
+        String cols = "SELECT id, quote, timestamp, ip, quote_number FROM " + table;
+        if (afterKey == null) {
+            return jdbc.query(cols + " ORDER BY id LIMIT ?", ROW, limit);
+        }
+        return jdbc.query(cols + " WHERE id > ? ORDER BY id LIMIT ?", ROW, Long.parseLong(afterKey), limit);
+    }
+
+    @Override
+    public void insertChunk(List<QuoteRow> rows) {
+        boolean createdAt = hasCreatedAt();
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (QuoteRow row : rows) {
+            args.add(createdAt
+                ? new Object[] {row.getQuote(), row.getTimestamp(), row.getIp(), row.getQuoteNumber(), row.createdAt()}
+                : new Object[] {row.getQuote(), row.getTimestamp(), row.getIp(), row.getQuoteNumber()});
+        }
+        jdbc.batchUpdate(createdAt
+            ? "INSERT INTO " + table + " (quote, timestamp, ip, quote_number, created_at) VALUES (?, ?, ?, ?, ?)"
+            : "INSERT INTO " + table + " (quote, timestamp, ip, quote_number) VALUES (?, ?, ?, ?)", args);
+    }
+
+    private boolean hasCreatedAt() {
+        Boolean known = hasCreatedAt;
+        if (known == null) {
+            known = jdbc.query("SELECT * FROM " + table + " WHERE 1 = 0", rs -> {
+                ResultSetMetaData md = rs.getMetaData();
+                for (int i = 1; i <= md.getColumnCount(); i++) {
+                    if ("created_at".equalsIgnoreCase(md.getColumnName(i))) return true;
+                }
+                return false;
+            });
+            hasCreatedAt = known;
+        }
+        return known;
+    }
+
+    @Override
+    public long count() {
+        Long n = jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return n == null ? 0 : n;
+    }
+}
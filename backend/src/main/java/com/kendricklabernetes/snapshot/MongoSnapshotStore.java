@@ -0,0 +1,56 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SnapshotStore} over the quotes collection, paged by {@code _id}.
+ */
+public class MongoSnapshotStore implements SnapshotStore {
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final MongoCollection<Document> collection;
+
+    public MongoSnapshotStore(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public List<QuoteRow> nextChunk(String afterKey, int limit) {
+        Bson filter = afterKey == null ? new Document()
+            : Filters.gt("_id", ObjectId.isValid(afterKey) ? new ObjectId(afterKey) : afterKey);
+        List<QuoteRow> rows = new ArrayList<>(limit);
+        for (Document d : collection.find(filter).sort(Sorts.ascending("_id")).limit(limit).batchSize(limit)) {
+            Object number = d.get("quoteNumber");
+            rows.add(new QuoteRow(String.valueOf(d.get("_id")), d.getString("quote"), d.getString("timestamp"),
+                d.getString("ip"), number instanceof Number ? ((Number) number).intValue() : 0));
+        }
+        return rows;
+    }
+
+    @Override
+    public void insertChunk(List<QuoteRow> rows) {
+        List<Document> docs = new ArrayList<>(rows.size());
+        for (QuoteRow row : rows) {
+            docs.add(new Document("quote", row.getQuote())
+                .append("timestamp", row.getTimestamp())
+                .append("ip", row.getIp())
+                .append("quoteNumber", row.getQuoteNumber()));
+        }
+        if (!docs.isEmpty()) collection.insertMany(docs, UNORDERED);
+    }
+
+    @Override
+    public long count() {
+        return collection.countDocuments();
+    }
+}
@@ -0,0 +1,140 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only, memory-mapped view of a quote snapshot file.
+ *
+ * Layout (big-endian):
+ * - header, 32 bytes: magic {@code KLQS}, version (u16), reserved (u16), record count (i32),
+ *   CRC32 of everything after the header (i32), created-at epoch millis (i64), index offset (i64)
+ * - data: per record {@code [i32 body length][i32 quoteNumber][key][quote][timestamp][ip]},
+ *   each string a u16 byte length (0xFFFF = null) followed by UTF-8 bytes
+ * - index: per record {@code [i32 quoteNumber][i64 record offset]}, sorted by quote number
+ *
+ * The file is mapped with {@link FileChannel#map}; rows are decoded straight from the
+ * mapping with absolute reads, so lookups and scans need no intermediate parsing and
+ * concurrent readers are safe.
+ */
+public final class QuoteSnapshot {
+    static final int MAGIC = 0x4B4C5153;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 12;
+    static final int NULL_LENGTH = 0xFFFF;
+
+    private final Path file;
+    private final MappedByteBuffer buf;
+    private final int count;
+    private final long createdAtMillis;
+    private final int indexOffset;
+
+    private QuoteSnapshot(Path file, MappedByteBuffer buf, int count, long createdAtMillis, int indexOffset) {
+        this.file = file;
+        this.buf = buf;
+        this.count = count;
+        this.createdAtMillis = createdAtMillis;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * Map and validate a snapshot file.
+     *
+     * @throws IOException when the file is unreadable, truncated, from another format version or corrupt
+     */
+    public static QuoteSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) throw new IOException("Not a quote snapshot (too short): " + file);
+            if (size > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB: " + file);
+            // The mapping stays valid after the channel is closed.
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (buf.getInt(0) != MAGIC) throw new IOException("Not a quote snapshot (bad magic): " + file);
+        if (buf.getShort(4) != VERSION) throw new IOException("Unsupported snapshot version " + buf.getShort(4) + ": " + file);
+        int count = buf.getInt(8);
+        int crc = buf.getInt(12);
+        long created = buf.getLong(16);
+        long indexOffset = buf.getLong(24);
+        if (count < 0 || indexOffset < HEADER_SIZE
+                || indexOffset + (long) count * INDEX_ENTRY_SIZE != buf.capacity()) {
+            throw new IOException("Snapshot header does not match file size: " + file);
+        }
+        CRC32 check = new CRC32();
+        check.update(buf.slice(HEADER_SIZE, buf.capacity() - HEADER_SIZE));
+        if ((int) check.getValue() != crc) throw new IOException("Snapshot checksum mismatch: " + file);
+        return new QuoteSnapshot(file, buf, count, created, (int) indexOffset);
+    }
+
+    public Path getFile() { return file; }
+    public int size() { return count; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public long getSizeBytes() { return buf.capacity(); }
+
+    /** Binary search of the index; null when no record has that quote number. */
+    public QuoteRow findByQuoteNumber(int quoteNumber) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int n = buf.getInt(indexOffset + mid * INDEX_ENTRY_SIZE);
+            if (n < quoteNumber) {
+                lo = mid + 1;
+            } else if (n > quoteNumber) {
+                hi = mid - 1;
+            } else {
+                // Duplicate quote numbers are possible; return the first by index order.
+                while (mid > 0 && buf.getInt(indexOffset + (mid - 1) * INDEX_ENTRY_SIZE) == quoteNumber) mid--;
+                return decode((int) buf.getLong(indexOffset + mid * INDEX_ENTRY_SIZE + 4));
+            }
+        }
+        return null;
+    }
+
+    /** Scan records in file order, handing them out in lists of up to {@code chunkSize}. */
+    public void forEachChunk(int chunkSize, Consumer<List<QuoteRow>> consumer) {
+        List<QuoteRow> chunk = new ArrayList<>(chunkSize);
+        int pos = HEADER_SIZE;
+        while (pos < indexOffset) {
+            chunk.add(decode(pos));
+            pos += 4 + buf.getInt(pos);
+            if (chunk.size() == chunkSize) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) consumer.accept(chunk);
+    }
+
+    private QuoteRow decode(int offset) {
+        int[] pos = {offset + 8};
+        int quoteNumber = buf.getInt(offset + 4);
+        String key = readStr(pos);
+        String quote = readStr(pos);
+        String timestamp = readStr(pos);
+        String ip = readStr(pos);
+        return new QuoteRow(key, quote, timestamp, ip, quoteNumber);
+    }
+
+    private String readStr(int[] pos) {
+        int len = Short.toUnsignedInt(buf.getShort(pos[0]));
+        pos[0] += 2;
+        if (len == NULL_LENGTH) return null;
+        byte[] b = new byte[len];
+        buf.get(pos[0], b);
+        pos[0] += len;
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
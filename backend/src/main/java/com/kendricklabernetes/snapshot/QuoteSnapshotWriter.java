@@ -0,0 +1,132 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Streams quotes into a snapshot file (layout in {@link QuoteSnapshot}).
+ *
+ * Records are written as they are appended. The quote-number index is kept as two
+ * primitive arrays and written after the data, and the header is filled in last. The file
+ * is built under a temp name and atomically renamed, so readers never see a partial
+ * snapshot.
+ */
+public class QuoteSnapshotWriter implements AutoCloseable {
+    private final Path target;
+    private final Path tmp;
+    private final CheckedOutputStream checked;
+    private final DataOutputStream out;
+    private long position = QuoteSnapshot.HEADER_SIZE;
+    private int count;
+    private int[] quoteNumbers = new int[1024];
+    private long[] offsets = new long[1024];
+    private boolean finished;
+
+    public QuoteSnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        this.tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        BufferedOutputStream file = new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16);
+        file.write(new byte[QuoteSnapshot.HEADER_SIZE]);
+        this.checked = new CheckedOutputStream(file, new CRC32());
+        this.out = new DataOutputStream(checked);
+    }
+
+    public void append(QuoteRow row) throws IOException {
+        byte[] key = bytes(row.getKey());
+        byte[] quote = bytes(row.getQuote());
+        byte[] timestamp = bytes(row.getTimestamp());
+        byte[] ip = bytes(row.getIp());
+        int bodyLength = 4 + strLength(key) + strLength(quote) + strLength(timestamp) + strLength(ip);
+
+        if (count == quoteNumbers.length) {
+            quoteNumbers = Arrays.copyOf(quoteNumbers, count * 2);
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        quoteNumbers[count] = row.getQuoteNumber();
+        offsets[count] = position;
+        count++;
+
+        out.writeInt(bodyLength);
+        out.writeInt(row.getQuoteNumber());
+        writeStr(key);
+        writeStr(quote);
+        writeStr(timestamp);
+        writeStr(ip);
+        position += 4 + bodyLength;
+    }
+
+    /** Write the index and header and move the file into place; returns the record count. */
+    public int finish() throws IOException {
+        long indexOffset = position;
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> quoteNumbers[a] != quoteNumbers[b]
+            ? Integer.compare(quoteNumbers[a], quoteNumbers[b]) : Long.compare(offsets[a], offsets[b]));
+        for (Integer i : order) {
+            out.writeInt(quoteNumbers[i]);
+            out.writeLong(offsets[i]);
+        }
+        out.flush();
+        long crc = checked.getChecksum().getValue();
+        out.close();
+
+        ByteBuffer header = ByteBuffer.allocate(QuoteSnapshot.HEADER_SIZE);
+        header.putInt(QuoteSnapshot.MAGIC);
+        header.putShort(QuoteSnapshot.VERSION);
+        header.putShort((short) 0);
+        header.putInt(count);
+        header.putInt((int) crc);
+        header.putLong(System.currentTimeMillis());
+        header.putLong(indexOffset);
+        header.flip();
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) ch.write(header, header.position());
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) return;
+        out.close();
+        Files.deleteIfExists(tmp);
+    }
+
+    private void writeStr(byte[] b) throws IOException {
+        if (b == null) {
+            out.writeShort(QuoteSnapshot.NULL_LENGTH);
+            return;
+        }
+        out.writeShort(b.length);
+        out.write(b);
+    }
+
+    private static int strLength(byte[] b) {
+        return 2 + (b == null ? 0 : b.length);
+    }
+
+    private static byte[] bytes(String s) {
+        if (s == null) return null;
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        if (b.length >= QuoteSnapshot.NULL_LENGTH) {
+            throw new IllegalArgumentException("Field too long for snapshot: " + b.length + " bytes");
+        }
+        return b;
+    }
+}
@@ -0,0 +1,159 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the active store's quotes to binary snapshot files and loads them back.
+ *
+ * With {@code quotes.snapshot.warm-start} set, the named snapshot is memory-mapped and
+ * bulk-inserted into the store at startup, before the app reports ready, when the store
+ * is empty. Snapshot-derived state (random-quote index, view warm-up) is then built from
+ * the loaded data by the usual ApplicationReadyEvent listeners.
+ */
+@Service
+public class SnapshotService implements ApplicationRunner {
+    static final String EXTENSION = ".klsnap";
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final ObjectProvider<SnapshotStore> storeProvider;
+    private final Path dir;
+    private final String warmStart;
+    private final int chunkSize;
+
+    public SnapshotService(ObjectProvider<SnapshotStore> storeProvider,
+                           @Value("${quotes.snapshot.dir:snapshots}") String dir,
+                           @Value("${quotes.snapshot.warm-start:}") String warmStart,
+                           @Value("${quotes.snapshot.chunk-size:1000}") int chunkSize) {
+        this.storeProvider = storeProvider;
+        this.dir = Paths.get(dir);
+        this.warmStart = warmStart;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (warmStart == null || warmStart.isBlank()) return;
+        try {
+            Map<String, Object> result = restore(warmStart.trim());
+            log.info("Warm start from snapshot: {}", result);
+        } catch (IllegalStateException e) {
+            log.info("Skipping snapshot warm start: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Snapshot warm start from '{}' failed: {}", warmStart, e.getMessage());
+        }
+    }
+
+    /** Write every quote in the active store to {@code <dir>/<name>.klsnap}. */
+    public synchronized Map<String, Object> create(String name) throws IOException {
+        SnapshotStore store = requireStore();
+        Path file = resolve(name);
+        Files.createDirectories(dir);
+        long start = System.nanoTime();
+        int records;
+        try (QuoteSnapshotWriter writer = new QuoteSnapshotWriter(file)) {
+            String lastKey = null;
+            while (true) {
+                List<QuoteRow> rows = store.nextChunk(lastKey, chunkSize);
+                for (QuoteRow row : rows) writer.append(row);
+                if (rows.size() < chunkSize) break;
+                lastKey = rows.get(rows.size() - 1).getKey();
+            }
+            records = writer.finish();
+        }
+        Map<String, Object> out = describe(QuoteSnapshot.open(file));
+        out.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+        log.info("Wrote snapshot {} with {} quotes", file, records);
+        return out;
+    }
+
+    /**
+     * Bulk-load a snapshot into the active store.
+     *
+     * @throws IllegalStateException when the store already holds quotes (loading would duplicate them)
+     */
+    public synchronized Map<String, Object> restore(String nameOrPath) throws IOException {
+        SnapshotStore store = requireStore();
+        QuoteSnapshot snapshot = QuoteSnapshot.open(locate(nameOrPath));
+        long existing = store.count();
+        if (existing > 0) {
+            throw new IllegalStateException("Store already holds " + existing + " quotes");
+        }
+        long start = System.nanoTime();
+        snapshot.forEachChunk(chunkSize, store::insertChunk);
+        Map<String, Object> out = describe(snapshot);
+        out.put("loaded", snapshot.size());
+        out.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+        return out;
+    }
+
+    public List<Map<String, Object>> list() throws IOException {
+        List<Map<String, Object>> out = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return out;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            for (Path f : files) {
+                try {
+                    out.add(describe(QuoteSnapshot.open(f)));
+                } catch (IOException e) {
+                    Map<String, Object> bad = new LinkedHashMap<>();
+                    bad.put("name", baseName(f));
+                    bad.put("error", e.getMessage());
+                    out.add(bad);
+                }
+            }
+        }
+        return out;
+    }
+
+    private SnapshotStore requireStore() {
+        SnapshotStore store = storeProvider.getIfAvailable();
+        if (store == null) throw new IllegalStateException("No snapshot store for the active DB_TYPE");
+        return store;
+    }
+
+    /** A bare name refers to {@code <dir>/<name>.klsnap}; anything with a path separator is used as-is. */
+    private Path locate(String nameOrPath) {
+        if (nameOrPath.contains("/") || nameOrPath.contains("\\")) return Paths.get(nameOrPath);
+        return resolve(nameOrPath);
+    }
+
+    private Path resolve(String name) {
+        if (!name.matches("[A-Za-z0-9_-]{1,64}")) {
+            throw new IllegalArgumentException("Snapshot name may only contain letters, digits, '-' and '_'");
+        }
+        return dir.resolve(name + EXTENSION);
+    }
+
+    private static Map<String, Object> describe(QuoteSnapshot s) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("name", baseName(s.getFile()));
+        out.put("file", s.getFile().toString());
+        out.put("records", s.size());
+        out.put("bytes", s.getSizeBytes());
+        out.put("createdAt", Instant.ofEpochMilli(s.getCreatedAtMillis()).toString());
+        return out;
+    }
+
+    private static String baseName(Path f) {
+        String n = f.getFileName().toString();
+        return n.endsWith(EXTENSION) ? n.substring(0, n.length() - EXTENSION.length()) : n;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+
+import java.util.List;
+
+/**
+ * Bulk access to the active store's quotes for writing and restoring snapshots.
+ */
+public interface SnapshotStore {
+    /** Up to {@code limit} rows with a key greater than {@code afterKey} (from the start when null), in key order. */
+    List<QuoteRow> nextChunk(String afterKey, int limit);
+
+    /** Insert rows in one batch; the store assigns new ids, quote numbers are kept. */
+    void insertChunk(List<QuoteRow> rows);
+
+    long count();
+}
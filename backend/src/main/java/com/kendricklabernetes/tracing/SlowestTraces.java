@@ -0,0 +1,69 @@
+package com.kendricklabernetes.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code capacity} slowest traces seen so far. Inserts replace the current fastest entry
+ * with a compare-and-set and retry on contention; {@link #qualifies} is a single volatile
+ * read, so requests faster than every kept trace never build a record at all.
+ */
+final class SlowestTraces {
+    private final AtomicReferenceArray<TraceRecord> slots;
+    private volatile long floorNanos;
+
+    SlowestTraces(int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    boolean qualifies(long durationNanos) {
+        return durationNanos > floorNanos;
+    }
+
+    void offer(TraceRecord record) {
+        while (true) {
+            int minIdx = 0;
+            TraceRecord min = slots.get(0);
+            for (int i = 1; i < slots.length() && min != null; i++) {
+                TraceRecord r = slots.get(i);
+                if (r == null || r.durationNanos() < min.durationNanos()) {
+                    minIdx = i;
+                    min = r;
+                }
+            }
+            if (min != null && record.durationNanos() <= min.durationNanos()) return;
+            if (slots.compareAndSet(minIdx, min, record)) {
+                floorNanos = currentFloor();
+                return;
+            }
+        }
+    }
+
+    /** Slowest first. */
+    List<TraceRecord> snapshot() {
+        List<TraceRecord> out = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            TraceRecord r = slots.get(i);
+            if (r != null) out.add(r);
+        }
+        out.sort(Comparator.comparingLong(TraceRecord::durationNanos).reversed());
+        return out;
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) slots.set(i, null);
+        floorNanos = 0;
+    }
+
+    private long currentFloor() {
+        long floor = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            TraceRecord r = slots.get(i);
+            if (r == null) return 0;
+            floor = Math.min(floor, r.durationNanos());
+        }
+        return floor;
+    }
+}
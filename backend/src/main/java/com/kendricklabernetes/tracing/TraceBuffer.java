@@ -0,0 +1,29 @@
+package com.kendricklabernetes.tracing;
+
+/**
+ * Per-thread, preallocated span storage for the request currently running on that thread.
+ * Recording a span only writes into these arrays; nothing is allocated unless the finished
+ * trace is kept (see {@link Tracer#finishTrace}).
+ */
+final class TraceBuffer {
+    static final int MAX_SPANS = 64;
+
+    final String[] names = new String[MAX_SPANS];
+    final long[] starts = new long[MAX_SPANS];
+    final long[] ends = new long[MAX_SPANS];
+    final int[] parents = new int[MAX_SPANS];
+    int count;
+    int current = -1;
+    int dropped;
+    boolean active;
+    boolean sampled;
+    long startedAtMillis;
+    String method;
+    String path;
+
+    void reset() {
+        count = 0;
+        current = -1;
+        dropped = 0;
+    }
+}
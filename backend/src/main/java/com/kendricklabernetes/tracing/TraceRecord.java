@@ -0,0 +1,64 @@
+package com.kendricklabernetes.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An immutable finished trace as returned by {@code GET /api/admin/traces}.
+ */
+public final class TraceRecord {
+    private final long id;
+    private final long startedAtMillis;
+    private final String method;
+    private final String path;
+    private final int status;
+    private final long durationNanos;
+    private final int droppedSpans;
+    private final List<SpanRecord> spans;
+
+    TraceRecord(long id, long startedAtMillis, String method, String path, int status,
+                long durationNanos, int droppedSpans, List<SpanRecord> spans) {
+        this.id = id;
+        this.startedAtMillis = startedAtMillis;
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.droppedSpans = droppedSpans;
+        this.spans = spans;
+    }
+
+    public long getId() { return id; }
+    public String getStartedAt() { return Instant.ofEpochMilli(startedAtMillis).toString(); }
+    public String getMethod() { return method; }
+    public String getPath() { return path; }
+    public int getStatus() { return status; }
+    public long getDurationMicros() { return durationNanos / 1000; }
+    /** Spans that did not fit into the per-thread buffer. */
+    public int getDroppedSpans() { return droppedSpans; }
+    public List<SpanRecord> getSpans() { return spans; }
+
+    long durationNanos() { return durationNanos; }
+
+    /** One timed section; {@code depth} 0 is the whole request. */
+    public static final class SpanRecord {
+        private final String name;
+        private final int depth;
+        private final long offsetMicros;
+        private final long durationMicros;
+
+        SpanRecord(String name, int depth, long offsetMicros, long durationMicros) {
+            this.name = name;
+            this.depth = depth;
+            this.offsetMicros = offsetMicros;
+            this.durationMicros = durationMicros;
+        }
+
+        public String getName() { return name; }
+        public int getDepth() { return depth; }
+        /** Start relative to the beginning of the request. */
+        public long getOffsetMicros() { return offsetMicros; }
+        /** -1 when the span was still open when the request finished. */
+        public long getDurationMicros() { return durationMicros; }
+    }
+}
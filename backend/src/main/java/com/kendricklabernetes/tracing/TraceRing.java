@@ -0,0 +1,42 @@
+package com.kendricklabernetes.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free ring of the most recent traces. Writers claim a slot with one
+ * {@code getAndIncrement} and overwrite whatever was there.
+ */
+final class TraceRing {
+    private final AtomicReferenceArray<TraceRecord> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    TraceRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(TraceRecord record) {
+        slots.set((int) (next.getAndIncrement() & mask), record);
+    }
+
+    /** Newest first. */
+    List<TraceRecord> snapshot(int limit) {
+        List<TraceRecord> out = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            TraceRecord r = slots.get(i);
+            if (r != null) out.add(r);
+        }
+        out.sort(Comparator.comparingLong(TraceRecord::getId).reversed());
+        return out.size() <= limit ? out : out.subList(0, limit);
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) slots.set(i, null);
+    }
+}
@@ -0,0 +1,153 @@
+package com.kendricklabernetes.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request-scoped span tracing.
+ *
+ * {@link TracingFilter} opens a trace per request; code on the request thread wraps work in
+ * {@code int span = tracer.begin("name"); try { ... } finally { tracer.end(span); }}.
+ * Spans are written into a preallocated per-thread {@link TraceBuffer}, which costs a
+ * couple of {@code nanoTime()} calls and array stores. When the request finishes, the
+ * trace is copied into a {@link TraceRecord} only if it is sampled
+ * ({@code tracing.sample-rate}) for the recent-traces ring, or slower than the fastest
+ * entry in the slowest-traces list. Unsampled requests therefore allocate nothing, and
+ * slow outliers are still caught.
+ */
+@Component
+public class Tracer {
+    private final ThreadLocal<TraceBuffer> buffers = ThreadLocal.withInitial(TraceBuffer::new);
+    private final boolean enabled;
+    private final TraceRing recent;
+    private final SlowestTraces slowest;
+    private final AtomicLong ids = new AtomicLong();
+    private final LongAdder traced = new LongAdder();
+    private final LongAdder kept = new LongAdder();
+    private volatile double sampleRate;
+
+    public Tracer(@Value("${tracing.enabled:true}") boolean enabled,
+                  @Value("${tracing.sample-rate:0.01}") double sampleRate,
+                  @Value("${tracing.recent-size:256}") int recentSize,
+                  @Value("${tracing.slowest-size:16}") int slowestSize) {
+        this.enabled = enabled;
+        this.recent = new TraceRing(recentSize);
+        this.slowest = new SlowestTraces(slowestSize);
+        setSampleRate(sampleRate);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double rate) {
+        if (rate < 0 || rate > 1) throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        this.sampleRate = rate;
+    }
+
+    /** True while the current thread is inside a traced request. */
+    public boolean isActive() {
+        return enabled && buffers.get().active;
+    }
+
+    /** Open a trace for the request on this thread; returns the root span. */
+    public int startTrace(String method, String path, boolean forceSample) {
+        if (!enabled) return -1;
+        TraceBuffer b = buffers.get();
+        b.reset();
+        b.active = true;
+        double rate = sampleRate;
+        b.sampled = forceSample || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+        b.startedAtMillis = System.currentTimeMillis();
+        b.method = method;
+        b.path = path;
+        return begin("request");
+    }
+
+    /** Start a child of the innermost open span; returns -1 (a no-op for {@link #end}) outside a trace. */
+    public int begin(String name) {
+        if (!enabled) return -1;
+        TraceBuffer b = buffers.get();
+        if (!b.active) return -1;
+        if (b.count == TraceBuffer.MAX_SPANS) {
+            b.dropped++;
+            return -1;
+        }
+        int i = b.count++;
+        b.names[i] = name;
+        b.parents[i] = b.current;
+        b.ends[i] = 0;
+        b.current = i;
+        b.starts[i] = System.nanoTime();
+        return i;
+    }
+
+    public void end(int span) {
+        if (span < 0) return;
+        long now = System.nanoTime();
+        TraceBuffer b = buffers.get();
+        if (!b.active || span >= b.count) return;
+        b.ends[span] = now;
+        b.current = b.parents[span];
+    }
+
+    /** Close the root span and keep the trace if it is sampled or among the slowest. */
+    public void finishTrace(int rootSpan, int status) {
+        if (rootSpan < 0) return;
+        end(rootSpan);
+        TraceBuffer b = buffers.get();
+        b.active = false;
+        traced.increment();
+        long duration = b.ends[rootSpan] - b.starts[rootSpan];
+        boolean slow = slowest.qualifies(duration);
+        if (!b.sampled && !slow) return;
+
+        TraceRecord record = toRecord(b, status, duration);
+        kept.increment();
+        if (b.sampled) recent.add(record);
+        if (slow) slowest.offer(record);
+    }
+
+    /** Dump for the admin endpoint. */
+    public Map<String, Object> snapshot(int limit) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("sampleRate", sampleRate);
+        out.put("tracedRequests", traced.sum());
+        out.put("keptTraces", kept.sum());
+        out.put("recent", recent.snapshot(limit));
+        out.put("slowest", slowest.snapshot());
+        return out;
+    }
+
+    public void clear() {
+        recent.clear();
+        slowest.clear();
+    }
+
+    private TraceRecord toRecord(TraceBuffer b, int status, long duration) {
+        long origin = b.starts[0];
+        int[] depth = new int[b.count];
+        List<TraceRecord.SpanRecord> spans = new ArrayList<>(b.count);
+        for (int i = 0; i < b.count; i++) {
+            int parent = b.parents[i];
+            depth[i] = parent < 0 ? 0 : depth[parent] + 1;
+            long spanDuration = b.ends[i] == 0 ? -1 : (b.ends[i] - b.starts[i]) / 1000;
+            spans.add(new TraceRecord.SpanRecord(b.names[i], depth[i], (b.starts[i] - origin) / 1000, spanDuration));
+        }
+        return new TraceRecord(ids.incrementAndGet(), b.startedAtMillis, b.method, b.path, status,
+            duration, b.dropped, List.copyOf(spans));
+    }
+}
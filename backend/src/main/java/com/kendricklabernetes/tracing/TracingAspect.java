@@ -0,0 +1,82 @@
+package com.kendricklabernetes.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spans for controller handler methods and quote repository calls. Runs outside
+ * {@code RepositoryGuardAspect}, so repository spans include bulkhead waits. The order must
+ * stay after Spring's {@code ExposeInvocationInterceptor} (HIGHEST_PRECEDENCE), or the
+ * {@code this()} pointcuts stop matching repository calls.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TracingAspect {
+    private final Tracer tracer;
+    // Keyed by proxy class too: CrudRepository.save is one Method shared by every repository.
+    private final Map<Class<?>, Map<Method, String>> names = new ConcurrentHashMap<>();
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(com.kendricklabernetes.controller..*)"
+        + " && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint pjp) throws Throwable {
+        return traced("", pjp);
+    }
+
+    @Around("this(com.kendricklabernetes.repository.mongo.QuoteMongoRepository)")
+    public Object traceMongoRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return traced("repo ", pjp);
+    }
+
+    @Around("this(com.kendricklabernetes.repository.postgres.QuotePostgresRepository)"
+        + " || this(com.kendricklabernetes.repository.h2.QuoteH2Repository)")
+    public Object traceJpaRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return traced("repo ", pjp);
+    }
+
+    private Object traced(String prefix, ProceedingJoinPoint pjp) throws Throwable {
+        if (!tracer.isActive()) return pjp.proceed();
+        int span = tracer.begin(spanName(prefix, pjp));
+        try {
+            return pjp.proceed();
+        } finally {
+            tracer.end(span);
+        }
+    }
+
+    private String spanName(String prefix, ProceedingJoinPoint pjp) {
+        Class<?> type = pjp.getThis().getClass();
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Map<Method, String> forType = names.get(type);
+        if (forType == null) forType = names.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        String name = forType.get(method);
+        if (name == null) {
+            name = prefix + ownerName(type) + "." + method.getName();
+            forType.put(method, name);
+        }
+        return name;
+    }
+
+    /** The quote repository interface behind a Spring Data proxy, or the class behind a CGLIB proxy. */
+    private static String ownerName(Class<?> type) {
+        for (Class<?> iface : type.getInterfaces()) {
+            if (iface.getName().startsWith("com.kendricklabernetes.")) return iface.getSimpleName();
+        }
+        String name = type.getSimpleName();
+        int proxySuffix = name.indexOf("$$");
+        return proxySuffix > 0 ? name.substring(0, proxySuffix) : name;
+    }
+}
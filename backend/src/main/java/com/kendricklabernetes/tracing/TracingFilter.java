@@ -0,0 +1,45 @@
+package com.kendricklabernetes.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a trace around every API request. Send {@code X-Trace-Sample: true} to force a
+ * request into the recent-traces ring regardless of {@code tracing.sample-rate}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+    public static final String FORCE_HEADER = "X-Trace-Sample";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !tracer.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int root = tracer.startTrace(request.getMethod(), request.getRequestURI(),
+            "true".equalsIgnoreCase(request.getHeader(FORCE_HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            tracer.finishTrace(root, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kendricklabernetes.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Swaps Spring's JSON converter for one that records {@code json.read} / {@code json.write}
+ * spans, so request binding and response serialization show up in traces.
+ */
+@Configuration
+public class TracingWebConfig implements WebMvcConfigurer {
+    private final Tracer tracer;
+
+    public TracingWebConfig(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!tracer.isEnabled()) return;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                ObjectMapper mapper = ((MappingJackson2HttpMessageConverter) converters.get(i)).getObjectMapper();
+                converters.set(i, new TracingJsonConverter(mapper, tracer));
+            }
+        }
+    }
+
+    static final class TracingJsonConverter extends MappingJackson2HttpMessageConverter {
+        private final Tracer tracer;
+
+        TracingJsonConverter(ObjectMapper mapper, Tracer tracer) {
+            super(mapper);
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+            int span = tracer.begin("json.read");
+            try {
+                return super.read(type, contextClass, inputMessage);
+            } finally {
+                tracer.end(span);
+            }
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            int span = tracer.begin("json.write");
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                tracer.end(span);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kendricklabernetes.views;
+
+/**
+ * Count-Min Sketch over int keys: fixed memory, estimates never undercount and overcount
+ * by at most {@code e/width * totalCount} with probability {@code 1 - e^-depth}.
+ *
+ * Not thread-safe; {@link QuoteViewService} only updates it from the flush thread.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final long[] counts;
+    private final int[] seeds;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new long[depth * width];
+        this.seeds = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = 0x9E3779B9 * (i + 1);
+        }
+    }
+
+    /** Add {@code delta} to {@code key} and return the new estimate. */
+    public long add(int key, long delta) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int idx = row * width + bucket(key, row);
+            counts[idx] += delta;
+            min = Math.min(min, counts[idx]);
+        }
+        return min;
+    }
+
+    public long estimate(int key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + bucket(key, row)]);
+        }
+        return min;
+    }
+
+    private int bucket(int key, int row) {
+        // murmur3 fmix32 of the seeded key
+        int h = key ^ seeds[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return (h & 0x7FFFFFFF) % width;
+    }
+}
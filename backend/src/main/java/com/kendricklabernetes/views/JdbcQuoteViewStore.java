@@ -0,0 +1,77 @@
+package com.kendricklabernetes.views;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link QuoteViewStore} backed by a {@code quote_views} table, upserted with one JDBC batch per flush.
+ *
+ * The table is created by {@link #initialize()} when the bean starts; if the database is down
+ * then, the DDL is retried before the next load or flush.
+ */
+public class JdbcQuoteViewStore implements QuoteViewStore {
+    private static final Logger log = LoggerFactory.getLogger(JdbcQuoteViewStore.class);
+    private static final String POSTGRES_UPSERT = "INSERT INTO quote_views (quote_number, views) VALUES (?, ?) "
+        + "ON CONFLICT (quote_number) DO UPDATE SET views = quote_views.views + EXCLUDED.views";
+    private static final String STANDARD_MERGE = "MERGE INTO quote_views t USING (VALUES (CAST(? AS INT), CAST(? AS BIGINT))) "
+        + "AS s(quote_number, views) ON t.quote_number = s.quote_number "
+        + "WHEN MATCHED THEN UPDATE SET views = t.views + s.views "
+        + "WHEN NOT MATCHED THEN INSERT (quote_number, views) VALUES (s.quote_number, s.views)";
+
+    private final JdbcTemplate jdbc;
+    private final String upsert;
+    private volatile boolean schemaReady;
+
+    /**
+     * @param postgres use Postgres {@code ON CONFLICT}; otherwise SQL-standard {@code MERGE} (H2)
+     */
+    public JdbcQuoteViewStore(JdbcTemplate jdbc, boolean postgres) {
+        this.jdbc = jdbc;
+        this.upsert = postgres ? POSTGRES_UPSERT : STANDARD_MERGE;
+    }
+
+    /** Create the table if missing; logs instead of failing when the database is down. */
+    public void initialize() {
+        try {
+            ensureSchema();
+        } catch (DataAccessException e) {
+            log.warn("Could not create quote_views yet, retrying on first use: {}", e.getMessage());
+        }
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) return;
+        synchronized (this) {
+            if (schemaReady) return;
+            jdbc.execute("CREATE TABLE IF NOT EXISTS quote_views (quote_number INT PRIMARY KEY, views BIGINT NOT NULL)");
+            schemaReady = true;
+        }
+    }
+
+    @Override
+    public void addAll(Map<Integer, Long> deltas) {
+        ensureSchema();
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<Integer, Long> e : deltas.entrySet()) {
+            args.add(new Object[]{e.getKey(), e.getValue()});
+        }
+        jdbc.batchUpdate(upsert, args);
+    }
+
+    @Override
+    public Map<Integer, Long> loadAll() {
+        ensureSchema();
+        Map<Integer, Long> all = new HashMap<>();
+        jdbc.query("SELECT quote_number, views FROM quote_views", rs -> {
+            all.put(rs.getInt(1), rs.getLong(2));
+        });
+        return all;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kendricklabernetes.views;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link QuoteViewStore} backed by a {@code quote_views} collection keyed by quote number,
+ * flushed with one unordered bulk write of {@code $inc} upserts.
+ */
+public class MongoQuoteViewStore implements QuoteViewStore {
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private final MongoCollection<Document> collection;
+
+    public MongoQuoteViewStore(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public void addAll(Map<Integer, Long> deltas) {
+        List<WriteModel<Document>> ops = new ArrayList<>(deltas.size());
+        for (Map.Entry<Integer, Long> e : deltas.entrySet()) {
+            ops.add(new UpdateOneModel<>(Filters.eq("_id", e.getKey()), Updates.inc("views", e.getValue()), UPSERT));
+        }
+        collection.bulkWrite(ops, UNORDERED);
+    }
+
+    @Override
+    public Map<Integer, Long> loadAll() {
+        Map<Integer, Long> all = new HashMap<>();
+        for (Document d : collection.find()) {
+            Object id = d.get("_id");
+            Object views = d.get("views");
+            if (id instanceof Number && views instanceof Number) {
+                all.put(((Number) id).intValue(), ((Number) views).longValue());
+            }
+        }
+        return all;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kendricklabernetes.views;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-quote view counting without a DB write per read.
+ *
+ * Reads bump a striped {@link LongAdder} per quote number; a scheduled flush drains the
+ * adders, writes the deltas to the active {@link QuoteViewStore} in one batch and folds
+ * them into an in-memory Count-Min Sketch + heap so {@code GET /api/quotes/top} never
+ * touches the database.
+ */
+@Service
+public class QuoteViewService {
+    private static final Logger log = LoggerFactory.getLogger(QuoteViewService.class);
+
+    private final ConcurrentHashMap<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ObjectProvider<QuoteViewStore> storeProvider;
+    private final TopKTracker topK;
+    private final Map<Integer, Long> unsaved = new HashMap<>();
+    private volatile List<TopKTracker.Entry> leaders = List.of();
+
+    public QuoteViewService(ObjectProvider<QuoteViewStore> storeProvider,
+                            @Value("${quotes.views.top-k:50}") int k,
+                            @Value("${quotes.views.sketch-depth:4}") int depth,
+                            @Value("${quotes.views.sketch-width:4096}") int width) {
+        this.storeProvider = storeProvider;
+        this.topK = new TopKTracker(k, new CountMinSketch(depth, width));
+    }
+
+    /** Hot path: record one view. Lock-free after the first view of a quote. */
+    public void recordView(int quoteNumber) {
+        LongAdder adder = pending.get(quoteNumber);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(quoteNumber, n -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /** Most-viewed quotes as of the last flush, highest first. */
+    public List<TopKTracker.Entry> top(int limit) {
+        List<TopKTracker.Entry> current = leaders;
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warmUp() {
+        QuoteViewStore store = storeProvider.getIfAvailable();
+        if (store == null) return;
+        try {
+            Map<Integer, Long> totals = store.loadAll();
+            totals.forEach(topK::add);
+            leaders = List.copyOf(topK.snapshot());
+            log.info("Loaded view totals for {} quotes", totals.size());
+        } catch (Exception e) {
+            log.warn("Unable to load stored view totals: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quotes.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Integer, Long> deltas = new HashMap<>();
+        pending.forEach((quoteNumber, adder) -> {
+            long n = adder.sumThenReset();
+            if (n > 0) deltas.put(quoteNumber, n);
+        });
+        if (deltas.isEmpty() && unsaved.isEmpty()) return;
+        deltas.forEach(topK::add);
+        leaders = List.copyOf(topK.snapshot());
+
+        QuoteViewStore store = storeProvider.getIfAvailable();
+        if (store == null) return;
+        // Deltas from a failed flush are retried with the next one; they are already in the top-K.
+        deltas.forEach((quoteNumber, n) -> unsaved.merge(quoteNumber, n, Long::sum));
+        try {
+            store.addAll(unsaved);
+            log.debug("Flushed view counts for {} quotes", unsaved.size());
+            unsaved.clear();
+        } catch (Exception e) {
+            log.warn("Failed to flush view counts for {} quotes: {}", unsaved.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,14 @@
+package com.kendricklabernetes.views;
+
+import java.util.Map;
+
+/**
+ * Durable per-quote view totals, written in batches by {@link QuoteViewService}.
+ */
+public interface QuoteViewStore {
+    /** Add each delta to the stored total for its quote number, creating missing rows. */
+    void addAll(Map<Integer, Long> deltas);
+
+    /** All stored totals, used to warm the in-memory top-K at startup. */
+    Map<Integer, Long> loadAll();
+}
@@ -0,0 +1,59 @@
+package com.kendricklabernetes.views;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Heavy-hitter tracker: a Count-Min Sketch for estimates plus a size-K min-heap of the
+ * current leaders. Not thread-safe; callers publish {@link #snapshot()} results instead.
+ */
+public class TopKTracker {
+    /** Quote number with its estimated view count. */
+    public static final class Entry {
+        private final int quoteNumber;
+        private final long views;
+
+        Entry(int quoteNumber, long views) {
+            this.quoteNumber = quoteNumber;
+            this.views = views;
+        }
+
+        public int getQuoteNumber() { return quoteNumber; }
+        public long getViews() { return views; }
+    }
+
+    private final int k;
+    private final CountMinSketch sketch;
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>((a, b) -> Long.compare(a.views, b.views));
+    private final Map<Integer, Entry> members = new HashMap<>();
+
+    public TopKTracker(int k, CountMinSketch sketch) {
+        this.k = k;
+        this.sketch = sketch;
+    }
+
+    public void add(int quoteNumber, long delta) {
+        long estimate = sketch.add(quoteNumber, delta);
+        Entry current = members.get(quoteNumber);
+        if (current != null) {
+            heap.remove(current);
+        } else if (heap.size() >= k) {
+            if (estimate <= heap.peek().views) return;
+            members.remove(heap.poll().quoteNumber);
+        }
+        Entry updated = new Entry(quoteNumber, estimate);
+        heap.add(updated);
+        members.put(quoteNumber, updated);
+    }
+
+    /** Leaders ordered by descending estimated views. */
+    public List<Entry> snapshot() {
+        List<Entry> out = new ArrayList<>(heap);
+        out.sort(Collections.reverseOrder((a, b) -> Long.compare(a.views, b.views)));
+        return out;
+    }
+}
@@ -0,0 +1,115 @@
+package com.kendricklabernetes.config.h2;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Insert/read throughput of the in-memory H2 mode against file-backed configurations.
+ * Run with {@code mvn test -Pbenchmark -Dtest=H2StorageBenchmark}.
+ *
+ * One discarded warm-up pass over every mode lets the JIT settle, then {@code bench.rounds}
+ * measured rounds run the modes in a fresh random order each time; the median per mode is reported.
+ * Every run starts from a new, empty database.
+ */
+@Tag("benchmark")
+public class H2StorageBenchmark {
+    private static final int ROWS = Integer.getInteger("bench.rows", 20_000);
+    private static final int READS = Integer.getInteger("bench.reads", 100_000);
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 5);
+
+    @TempDir
+    Path dir;
+
+    private int databases;
+
+    @Test
+    public void compareStorageModes() throws Exception {
+        Map<String, Supplier<String>> modes = new LinkedHashMap<>();
+        modes.put("memory", () -> "jdbc:h2:mem:bench" + (++databases));
+        modes.put("file (write-delay 500ms)", () -> fileUrl(false, 500));
+        modes.put("file (write-delay 0)", () -> fileUrl(false, 0));
+        modes.put("file mmap (write-delay 500ms)", () -> fileUrl(true, 500));
+
+        List<String> order = new ArrayList<>(modes.keySet());
+        for (String label : order) run(label, modes.get(label).get());
+
+        Map<String, List<double[]>> results = new LinkedHashMap<>();
+        for (String label : order) results.put(label, new ArrayList<>());
+        for (int round = 0; round < ROUNDS; round++) {
+            Collections.shuffle(order);
+            for (String label : order) results.get(label).add(run(label, modes.get(label).get()));
+        }
+
+        System.out.printf("%-34s %14s %14s   (median of %d rounds)%n", "mode", "inserts/s", "reads/s", ROUNDS);
+        results.forEach((label, runs) ->
+            System.out.printf("%-34s %14.0f %14.0f%n", label, median(runs, 0), median(runs, 1)));
+    }
+
+    private static double median(List<double[]> runs, int column) {
+        double[] values = runs.stream().mapToDouble(r -> r[column]).sorted().toArray();
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+
+    private String fileUrl(boolean mapped, int writeDelay) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("quotes.h2.file", dir.resolve("bench" + (++databases)).toString());
+        props.put("quotes.h2.memory-mapped", mapped);
+        props.put("quotes.h2.write-delay-ms", writeDelay);
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("bench", props));
+        return new H2FileStorage(env).jdbcUrl();
+    }
+
+    /** Returns {inserts/s, reads/s} for one run against a fresh database. */
+    private double[] run(String label, String url) throws Exception {
+        try (Connection conn = DriverManager.getConnection(url, "sa", "")) {
+            conn.createStatement().execute("CREATE TABLE quoteh2 (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "quote VARCHAR(255), timestamp VARCHAR(255), ip VARCHAR(255), quote_number INT NOT NULL)");
+            // Autocommit per insert mirrors one repository save() per POST /api/quotes.
+            long t0 = System.nanoTime();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO quoteh2 (quote, timestamp, ip, quote_number) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    ps.setString(1, "Sit down, be humble #" + i);
+                    ps.setString(2, "2024-01-01T00:00:00Z");
+                    ps.setString(3, "10.0.0.1");
+                    ps.setInt(4, i);
+                    ps.executeUpdate();
+                }
+            }
+            double insertSec = (System.nanoTime() - t0) / 1e9;
+
+            long t1 = System.nanoTime();
+            long found = 0;
+            try (PreparedStatement ps = conn.prepareStatement("SELECT quote FROM quoteh2 WHERE id = ?")) {
+                for (int i = 0; i < READS; i++) {
+                    ps.setLong(1, ThreadLocalRandom.current().nextInt(1, ROWS + 1));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) found++;
+                    }
+                }
+            }
+            double readSec = (System.nanoTime() - t1) / 1e9;
+            if (found != READS) throw new IllegalStateException("missing rows in " + label);
+            return new double[] {ROWS / insertSec, READS / readSec};
+        }
+    }
+}
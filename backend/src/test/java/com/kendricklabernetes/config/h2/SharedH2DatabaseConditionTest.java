@@ -0,0 +1,38 @@
+package com.kendricklabernetes.config.h2;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SharedH2DatabaseConditionTest {
+
+    private static boolean matches(Map<String, Object> props) {
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("test", props));
+        ConditionContext context = mock(ConditionContext.class);
+        when(context.getEnvironment()).thenReturn(env);
+        return new SharedH2DatabaseCondition().matches(context, null);
+    }
+
+    @Test
+    public void inMemoryDatabaseHasNoOtherWriters() {
+        assertFalse(matches(Map.of()));
+        assertFalse(matches(Map.of("quotes.h2.mode", "mem")));
+        assertFalse(matches(Map.of("spring.datasource.url", "jdbc:h2:mem:kendrick;DB_CLOSE_DELAY=-1")));
+    }
+
+    @Test
+    public void fileAndServerDatabasesAreShared() {
+        assertTrue(matches(Map.of("quotes.h2.mode", "file")));
+        assertTrue(matches(Map.of("spring.datasource.url", "jdbc:h2:file:/tmp/kendrick;AUTO_SERVER=TRUE")));
+        assertTrue(matches(Map.of("spring.datasource.url", "jdbc:h2:tcp://h2:9092/kendrick")));
+    }
+}
@@ -0,0 +1,77 @@
+package com.kendricklabernetes.config.mongo;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Insert and full-read throughput of the quote collection with the driver defaults against
+ * the tuned {@link MongoQuoteTuning} settings. Needs a local mongod (or any stand-in speaking
+ * the wire protocol) at {@code bench.mongo.uri}; skipped when none is reachable.
+ * Run with {@code mvn test -Pbenchmark -Dtest=MongoQuoteBenchmark}.
+ */
+@Tag("benchmark")
+public class MongoQuoteBenchmark {
+    private static final String URI = System.getProperty("bench.mongo.uri", "mongodb://localhost:27017/?serverSelectionTimeoutMS=2000");
+    private static final int DOCS = Integer.getInteger("bench.docs", 20_000);
+    private static final int SCANS = Integer.getInteger("bench.scans", 20);
+
+    @Test
+    public void compareDefaultAndTunedProfiles() {
+        try (MongoClient client = MongoClients.create(URI)) {
+            try {
+                client.getDatabase("admin").runCommand(new Document("ping", 1));
+            } catch (Exception e) {
+                Assumptions.abort("No mongod reachable at " + URI + ": " + e.getMessage());
+            }
+            MongoCollection<Document> quotes = client.getDatabase("kendrick_bench").getCollection("quotes");
+            MongoQuoteTuning tuned = MongoQuoteTuning.of("secondaryPreferred", 90, "majority", true, 5000, 500, true);
+
+            System.out.printf("%-44s %12s %12s%n", "profile", "inserts/s", "docs read/s");
+            run("driver defaults (w:1, batch 101, all fields)", quotes, ReadPreference.primary(), WriteConcern.W1, 0, null);
+            run("w:1, no journal, batch 500, exclude ip", quotes, ReadPreference.primary(),
+                WriteConcern.W1.withJournal(false), 500, Projections.exclude("ip"));
+            run("tuned (" + tuned.writeConcern().asDocument().toJson() + ")", quotes, tuned.readPreference(),
+                tuned.writeConcern(), tuned.batchSize(), tuned.publicProjection());
+            quotes.drop();
+        }
+    }
+
+    private void run(String label, MongoCollection<Document> base, ReadPreference rp, WriteConcern wc,
+                     int batchSize, Bson projection) {
+        base.drop();
+        MongoCollection<Document> writes = base.withWriteConcern(wc);
+        // One insertOne per document mirrors one POST /api/quotes.
+        long t0 = System.nanoTime();
+        for (int i = 1; i <= DOCS; i++) {
+            writes.insertOne(new Document("quote", "Sit down, be humble #" + i)
+                .append("timestamp", "2024-01-01T00:00:00Z")
+                .append("ip", "203.0.113." + (i % 255))
+                .append("quoteNumber", i));
+        }
+        double insertsPerSec = DOCS / ((System.nanoTime() - t0) / 1e9);
+
+        MongoCollection<Document> reads = base.withReadPreference(rp);
+        long read = 0;
+        t0 = System.nanoTime();
+        for (int s = 0; s < SCANS; s++) {
+            FindIterable<Document> find = reads.find();
+            if (projection != null) find.projection(projection);
+            if (batchSize > 0) find.batchSize(batchSize);
+            for (Document ignored : find) read++;
+        }
+        double readsPerSec = read / ((System.nanoTime() - t0) / 1e9);
+        System.out.printf("%-44s %12.0f %12.0f%n", label, insertsPerSec, readsPerSec);
+    }
+
+}
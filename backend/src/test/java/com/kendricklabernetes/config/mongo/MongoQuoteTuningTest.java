@@ -0,0 +1,47 @@
+package com.kendricklabernetes.config.mongo;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MongoQuoteTuningTest {
+
+    @Test
+    public void defaultsReadFromSecondariesWithStalenessBoundAndWriteToMajority() {
+        MongoQuoteTuning tuning = MongoQuoteTuning.of("secondaryPreferred", 90, "majority", true, 5000, 500, true);
+
+        ReadPreference rp = tuning.readPreference();
+        assertEquals("secondaryPreferred", rp.getName());
+        assertEquals(Long.valueOf(90), ((com.mongodb.TaggableReadPreference) rp).getMaxStaleness(TimeUnit.SECONDS));
+        WriteConcern wc = tuning.writeConcern();
+        assertEquals("majority", wc.getWString());
+        assertEquals(Boolean.TRUE, wc.getJournal());
+        assertEquals(Integer.valueOf(5000), wc.getWTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(500, tuning.batchSize());
+        assertNotNull(tuning.publicProjection());
+    }
+
+    @Test
+    public void primaryIgnoresStalenessAndNumericWriteConcern() {
+        MongoQuoteTuning tuning = MongoQuoteTuning.of("primary", 90, "1", false, 0, 0, false);
+
+        assertEquals(ReadPreference.primary(), tuning.readPreference());
+        assertEquals(1, tuning.writeConcern().getW());
+        assertEquals(Boolean.FALSE, tuning.writeConcern().getJournal());
+        assertNull(tuning.writeConcern().getWTimeout(TimeUnit.MILLISECONDS));
+        assertNull(tuning.publicProjection());
+    }
+
+    @Test
+    public void rejectsUnknownReadPreference() {
+        assertThrows(IllegalArgumentException.class,
+            () -> MongoQuoteTuning.of("nearestish", 0, "majority", true, 0, 0, true));
+    }
+}
@@ -0,0 +1,201 @@
+package com.kendricklabernetes.config.postgres;
+
+import com.kendricklabernetes.migration.JdbcQuoteSink;
+import com.kendricklabernetes.migration.MigrationEndpoint;
+import com.kendricklabernetes.migration.QuoteRow;
+import com.kendricklabernetes.snapshot.JdbcSnapshotStore;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuotePartitionManagerTest {
+
+    private static final YearMonth NOW = YearMonth.now(ZoneOffset.UTC);
+
+    private static EmbeddedPostgres pg;
+    private static JdbcTemplate jdbc;
+
+    private final QuotePartitionManager manager = new QuotePartitionManager(null, "quote_postgres", 3, 0, "quote_archive");
+
+    @BeforeAll
+    public static void startPostgres() throws IOException {
+        pg = EmbeddedPostgres.start();
+        jdbc = new JdbcTemplate(pg.getPostgresDatabase());
+    }
+
+    @AfterAll
+    public static void stopPostgres() throws IOException {
+        pg.close();
+    }
+
+    /** Each test partitions its own table so they don't see each other's partitions. */
+    private static QuotePartitionManager initialized(String table) {
+        QuotePartitionManager m = new QuotePartitionManager(jdbc, table, 2, 0, table + "_archive");
+        m.initialize();
+        return m;
+    }
+
+    private static void insert(String table, YearMonth month, int quoteNumber) {
+        jdbc.update("INSERT INTO " + table + " (quote, quote_number, created_at) VALUES (?, ?, ?::timestamptz)",
+            "quote " + quoteNumber, quoteNumber, month.atDay(15) + " 12:00:00+00");
+    }
+
+    private static long count(String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+
+    private static List<String> names(QuotePartitionManager m) {
+        return m.partitions().stream().map(p -> (String) p.get("name")).collect(Collectors.toList());
+    }
+
+    @Test
+    public void monthlyPartitionsCoverHalfOpenUtcMonths() {
+        assertEquals("quote_postgres_p202412", manager.partitionName(YearMonth.of(2024, 12)));
+        assertEquals("CREATE TABLE quote_postgres_p202412 PARTITION OF quote_postgres "
+                + "FOR VALUES FROM ('2024-12-01 00:00:00+00') TO ('2025-01-01 00:00:00+00')",
+            manager.createPartitionSql(YearMonth.of(2024, 12)));
+    }
+
+    @Test
+    public void partitionNamesRoundTrip() {
+        YearMonth month = YearMonth.of(2025, 3);
+        assertEquals(month, manager.monthOf(manager.partitionName(month)));
+        assertNull(manager.monthOf("quote_postgres_default"));
+        assertNull(manager.monthOf("other_table_p202503"));
+    }
+
+    @Test
+    public void rejectsUnsafeIdentifiers() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new QuotePartitionManager(null, "quotes; DROP TABLE x", 3, 0, "quote_archive"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new QuotePartitionManager(null, "quote_postgres", 3, 0, "archive-schema"));
+    }
+
+    @Test
+    public void inactiveManagerDoesNothing() {
+        assertEquals(List.of(), manager.maintain(YearMonth.of(2025, 1)).getCreated());
+        assertThrows(IllegalStateException.class, () -> manager.detachOlderThan(YearMonth.of(2025, 1), true));
+    }
+
+    @Test
+    public void initializeCreatesDefaultAndUpcomingMonthsAndMaintainIsIdempotent() {
+        QuotePartitionManager m = initialized("q_init");
+        assertTrue(m.isActive());
+        assertEquals(List.of("q_init_default", m.partitionName(NOW), m.partitionName(NOW.plusMonths(1)),
+            m.partitionName(NOW.plusMonths(2))), names(m));
+
+        QuotePartitionManager.MaintenanceResult again = m.maintain(NOW);
+        assertEquals(List.of(), again.getCreated());
+        assertEquals(Map.of(), again.getFailed());
+    }
+
+    @Test
+    public void rowsAlreadyInDefaultAreMovedIntoTheNewMonth() {
+        QuotePartitionManager m = initialized("q_move");
+        YearMonth later = NOW.plusMonths(6);
+        insert("q_move", later, 1);
+        insert("q_move", later, 2);
+        insert("q_move", later.plusMonths(5), 3);
+        assertEquals(3, count("SELECT count(*) FROM q_move_default"));
+
+        QuotePartitionManager.MaintenanceResult result = m.maintain(later);
+
+        assertEquals(List.of(m.partitionName(later), m.partitionName(later.plusMonths(1)),
+            m.partitionName(later.plusMonths(2)), m.partitionName(later.plusMonths(5))), result.getCreated(),
+            "months held by DEFAULT are created even outside months-ahead");
+        assertEquals(Map.of(m.partitionName(later), 2, m.partitionName(later.plusMonths(5)), 1),
+            result.getMovedFromDefault());
+        assertEquals(Map.of(), result.getFailed());
+        assertEquals(2, count("SELECT count(*) FROM " + m.partitionName(later)));
+        assertEquals(0, count("SELECT count(*) FROM q_move_default"));
+        assertEquals(3, count("SELECT count(*) FROM q_move"));
+        assertTrue(names(m).contains("q_move_default"), "DEFAULT is attached again");
+    }
+
+    @Test
+    public void aFailingMonthDoesNotRollBackTheOthers() {
+        QuotePartitionManager m = initialized("q_fail");
+        YearMonth blocked = NOW.plusMonths(11);
+        // A hand-made partition covering part of the month makes its CREATE ... PARTITION OF fail.
+        jdbc.execute("CREATE TABLE q_fail_manual PARTITION OF q_fail FOR VALUES FROM ('"
+            + blocked.atDay(10) + " 00:00:00+00') TO ('" + blocked.atDay(20) + " 00:00:00+00')");
+
+        QuotePartitionManager.MaintenanceResult result = m.maintain(NOW.plusMonths(10));
+
+        assertEquals(List.of(m.partitionName(NOW.plusMonths(10)), m.partitionName(NOW.plusMonths(12))),
+            result.getCreated());
+        assertEquals(List.of(m.partitionName(blocked)), List.copyOf(result.getFailed().keySet()));
+        assertTrue(names(m).contains(m.partitionName(NOW.plusMonths(12))));
+        assertFalse(names(m).contains(m.partitionName(blocked)));
+    }
+
+    @Test
+    public void detachMovesOldMonthsToTheArchiveSchema() {
+        QuotePartitionManager m = initialized("q_detach");
+        YearMonth old = NOW.minusMonths(4);
+        m.maintain(old);
+        insert("q_detach", old, 1);
+        insert("q_detach", old.plusMonths(1), 2);
+        insert("q_detach", NOW, 3);
+
+        List<String> detached = m.detachOlderThan(NOW.minusMonths(2), true);
+
+        assertEquals(List.of("q_detach_archive." + m.partitionName(old),
+            "q_detach_archive." + m.partitionName(old.plusMonths(1))), detached);
+        assertEquals(1, count("SELECT count(*) FROM q_detach"));
+        assertEquals(1, count("SELECT count(*) FROM q_detach_archive." + m.partitionName(old)));
+        assertFalse(names(m).contains(m.partitionName(old)));
+        assertTrue(names(m).contains(m.partitionName(old.plusMonths(2))), "partitions after the cutoff stay");
+
+        assertEquals(List.of(m.partitionName(old.plusMonths(2))), m.detachOlderThan(NOW.minusMonths(1), false));
+        assertEquals(0, count("SELECT count(*) FROM " + m.partitionName(old.plusMonths(2))),
+            "without archive the table stays in public");
+    }
+
+    @Test
+    public void restoredAndMigratedHistoryKeepsItsMonth() throws Exception {
+        QuotePartitionManager m = initialized("q_history");
+        YearMonth may = YearMonth.of(2023, 5);
+        YearMonth july = YearMonth.of(2023, 7);
+
+        new JdbcSnapshotStore(jdbc, "q_history").insertChunk(List.of(
+            new QuoteRow("1", "restored", "2023-05-10T08:00:00Z", "10.0.0.1", 1),
+            new QuoteRow("2", "no usable timestamp", "yesterday", "10.0.0.1", 2)));
+        MigrationEndpoint target = MigrationEndpoint.fromBody(Map.of("type", "postgres",
+            "connectionString", pg.getJdbcUrl("postgres", "postgres"), "username", "postgres", "table", "q_history"),
+            "target");
+        try (JdbcQuoteSink sink = new JdbcQuoteSink(target)) {
+            sink.writeChunk(List.of(new QuoteRow("9", "migrated", "2023-07-04T23:30:00.250Z", "10.0.0.2", 3)));
+        }
+
+        assertEquals("2023-05-10T08:00Z", jdbc.queryForObject(
+            "SELECT to_char(created_at AT TIME ZONE 'UTC', 'YYYY-MM-DD\"T\"HH24:MI\"Z\"') FROM q_history WHERE quote_number = 1",
+            String.class));
+        assertEquals(1, count("SELECT count(*) FROM " + m.partitionName(NOW) + " WHERE quote_number = 2"),
+            "an unparseable timestamp falls back to now()");
+        assertEquals(2, count("SELECT count(*) FROM q_history_default"), "no partitions exist for 2023 yet");
+
+        QuotePartitionManager.MaintenanceResult result = m.maintain(NOW);
+
+        assertEquals(Map.of(m.partitionName(may), 1, m.partitionName(july), 1), result.getMovedFromDefault());
+        assertEquals(1, count("SELECT count(*) FROM " + m.partitionName(may) + " WHERE quote_number = 1"));
+        assertEquals(1, count("SELECT count(*) FROM " + m.partitionName(july) + " WHERE quote_number = 3"));
+        assertEquals(0, count("SELECT count(*) FROM q_history_default"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.kendricklabernetes.events;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * No mongod is available to the build, so the driver's change stream is mocked at the
+ * collection boundary; the feed's own mapping and fallback logic run for real.
+ */
+public class MongoQuoteChangeFeedTest {
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(OperationType type, ObjectId id, Document full) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(type);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(id)));
+        when(change.getFullDocument()).thenReturn(full);
+        when(change.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString(id.toHexString())));
+        return change;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void publishesInsertsAndDeletesFromTheChangeStream() throws Exception {
+        ObjectId id = new ObjectId();
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class, RETURNS_SELF);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(MongoChangeStreamCursor.class);
+        when(collection.watch(anyList())).thenReturn(stream);
+        when(stream.cursor()).thenReturn(cursor);
+        ChangeStreamDocument<Document> insert = change(OperationType.INSERT, id, new Document("_id", id).append("quoteNumber", 12));
+        ChangeStreamDocument<Document> delete = change(OperationType.DELETE, id, null);
+        when(cursor.tryNext()).thenReturn(insert, delete, null);
+
+        List<QuoteChangeEvent> events = new CopyOnWriteArrayList<>();
+        MongoQuoteChangeFeed feed = new MongoQuoteChangeFeed(collection, 1000, e -> events.add((QuoteChangeEvent) e),
+            new SimpleMeterRegistry());
+        feed.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < 2 && System.currentTimeMillis() < deadline) Thread.sleep(20);
+        } finally {
+            feed.stop();
+        }
+
+        assertEquals(2, events.size());
+        assertEquals(QuoteChangeEvent.Type.INSERTED, events.get(0).getType());
+        assertEquals(id.toHexString(), events.get(0).getId());
+        assertEquals(12, events.get(0).getQuoteNumber());
+        assertEquals("mongo-change-stream", events.get(0).getOrigin());
+        assertEquals(QuoteChangeEvent.Type.DELETED, events.get(1).getType());
+        assertEquals(id.toHexString(), events.get(1).getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void standaloneServerFallsBackToPollingOnce() {
+        BsonDocument unsupported = new BsonDocument("ok", new BsonInt32(0))
+            .append("code", new BsonInt32(40573))
+            .append("errmsg", new BsonString("The $changeStream stage is only supported on replica sets"));
+        // watch() is lazy in the driver; the server rejects the stream when the cursor is opened.
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class, RETURNS_SELF);
+        when(collection.watch(anyList())).thenReturn(stream);
+        when(stream.cursor()).thenThrow(new MongoCommandException(unsupported, new ServerAddress()));
+
+        MongoQuoteChangeFeed feed = new MongoQuoteChangeFeed(collection, 50, e -> { }, new SimpleMeterRegistry());
+        feed.start();
+        try {
+            // The polling fallback starts reading the collection and the change stream is not retried.
+            verify(collection, timeout(5000).atLeastOnce()).find(any(Bson.class));
+            verify(collection, times(1)).watch(anyList());
+            assertTrue(feed.isRunning());
+        } finally {
+            feed.stop();
+        }
+    }
+}
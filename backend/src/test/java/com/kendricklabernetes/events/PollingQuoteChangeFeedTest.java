@@ -0,0 +1,71 @@
+package com.kendricklabernetes.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PollingQuoteChangeFeedTest {
+
+    @Test
+    public void publishesInsertsAndDeletesMadeByAnotherWriter() {
+        // Two templates over one shared database stand in for two replicas.
+        String url = "jdbc:h2:mem:feedtest;DB_CLOSE_DELAY=-1";
+        JdbcTemplate replicaA = new JdbcTemplate(new DriverManagerDataSource(url));
+        JdbcTemplate replicaB = new JdbcTemplate(new DriverManagerDataSource(url));
+        replicaA.execute("CREATE TABLE quoteh2 (id BIGINT AUTO_INCREMENT PRIMARY KEY, quote_number INT NOT NULL)");
+        replicaA.update("INSERT INTO quoteh2 (quote_number) VALUES (1)");
+
+        List<QuoteChangeEvent> events = new ArrayList<>();
+        PollingQuoteChangeFeed feed = new PollingQuoteChangeFeed(new JdbcQuotePollSource(replicaA, "quoteh2"), 1000,
+            e -> events.add((QuoteChangeEvent) e), new SimpleMeterRegistry());
+        feed.poll();
+        assertEquals(0, events.size(), "baseline pass must not publish");
+
+        replicaB.update("INSERT INTO quoteh2 (quote_number) VALUES (2)");
+        replicaB.update("INSERT INTO quoteh2 (quote_number) VALUES (3)");
+        replicaB.update("DELETE FROM quoteh2 WHERE quote_number = 1");
+        feed.poll();
+
+        assertEquals(3, events.size());
+        assertEquals(QuoteChangeEvent.Type.INSERTED, events.get(0).getType());
+        assertEquals(2, events.get(0).getQuoteNumber());
+        assertEquals(QuoteChangeEvent.Type.INSERTED, events.get(1).getType());
+        assertEquals(QuoteChangeEvent.Type.DELETED, events.get(2).getType());
+        assertEquals(1, events.get(2).getQuoteNumber());
+
+        feed.poll();
+        assertEquals(3, events.size(), "no changes, no events");
+    }
+
+    @Test
+    public void noticesADeleteHiddenByAnOutOfOrderInsertOfEqualCount() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:feedtest-equal;DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE quoteh2 (id BIGINT PRIMARY KEY, quote_number INT NOT NULL)");
+        jdbc.update("INSERT INTO quoteh2 (id, quote_number) VALUES (1, 1), (2, 2), (4, 4)");
+
+        List<QuoteChangeEvent> events = new ArrayList<>();
+        PollingQuoteChangeFeed feed = new PollingQuoteChangeFeed(new JdbcQuotePollSource(jdbc, "quoteh2"), 1000,
+            e -> events.add((QuoteChangeEvent) e), new SimpleMeterRegistry());
+        feed.poll();
+
+        // id 3 commits late (below the highest key seen) while id 1 is deleted: the count stays at 3.
+        jdbc.update("INSERT INTO quoteh2 (id, quote_number) VALUES (3, 3)");
+        jdbc.update("DELETE FROM quoteh2 WHERE id = 1");
+        feed.poll();
+
+        assertEquals(2, events.size());
+        assertEquals(QuoteChangeEvent.Type.INSERTED, events.get(0).getType());
+        assertEquals("3", events.get(0).getId());
+        assertEquals(QuoteChangeEvent.Type.DELETED, events.get(1).getType());
+        assertEquals("1", events.get(1).getId());
+
+        feed.poll();
+        assertEquals(2, events.size(), "views agree again after the rescan");
+    }
+}
@@ -0,0 +1,70 @@
+package com.kendricklabernetes.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two feeds against one embedded Postgres stand in for two replicas: a write made through
+ * either connection must reach both listeners.
+ */
+public class PostgresQuoteChangeFeedTest {
+
+    @Test
+    public void writesThroughOneReplicaArePublishedByTheOther() throws Exception {
+        try (EmbeddedPostgres pg = EmbeddedPostgres.start()) {
+            JdbcTemplate replicaA = new JdbcTemplate(pg.getPostgresDatabase());
+            JdbcTemplate replicaB = new JdbcTemplate(pg.getPostgresDatabase());
+            replicaA.execute("CREATE TABLE quote_postgres (id BIGSERIAL PRIMARY KEY, quote_number INT NOT NULL)");
+
+            List<QuoteChangeEvent> seenByA = new CopyOnWriteArrayList<>();
+            List<QuoteChangeEvent> seenByB = new CopyOnWriteArrayList<>();
+            PostgresQuoteChangeFeed feedA = new PostgresQuoteChangeFeed(pg.getPostgresDatabase(), "quote_postgres",
+                e -> seenByA.add((QuoteChangeEvent) e), new SimpleMeterRegistry());
+            PostgresQuoteChangeFeed feedB = new PostgresQuoteChangeFeed(pg.getPostgresDatabase(), "quote_postgres",
+                e -> seenByB.add((QuoteChangeEvent) e), new SimpleMeterRegistry());
+            feedA.start();
+            feedB.start();
+            try {
+                // Both feeds have installed the trigger and issued LISTEN once two sessions show it.
+                awaitTrue(() -> replicaA.queryForObject("SELECT COUNT(*) FROM pg_stat_activity "
+                    + "WHERE query = 'LISTEN " + PostgresQuoteChangeFeed.CHANNEL + "'", Integer.class) == 2);
+
+                replicaA.update("INSERT INTO quote_postgres (quote_number) VALUES (7)");
+                long id = replicaA.queryForObject("SELECT id FROM quote_postgres WHERE quote_number = 7", Long.class);
+                awaitTrue(() -> seenByA.size() == 1 && seenByB.size() == 1);
+                for (List<QuoteChangeEvent> seen : List.of(seenByA, seenByB)) {
+                    assertEquals(QuoteChangeEvent.Type.INSERTED, seen.get(0).getType());
+                    assertEquals(Long.toString(id), seen.get(0).getId());
+                    assertEquals(7, seen.get(0).getQuoteNumber());
+                    assertEquals("postgres-notify", seen.get(0).getOrigin());
+                }
+
+                replicaB.update("DELETE FROM quote_postgres WHERE id = ?", id);
+                awaitTrue(() -> seenByA.size() == 2 && seenByB.size() == 2);
+                assertEquals(QuoteChangeEvent.Type.DELETED, seenByA.get(1).getType());
+                assertEquals(QuoteChangeEvent.Type.DELETED, seenByB.get(1).getType());
+                assertEquals(7, seenByA.get(1).getQuoteNumber());
+            } finally {
+                feedA.stop();
+                feedB.stop();
+            }
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the change feeds");
+            Thread.sleep(50);
+        }
+    }
+}
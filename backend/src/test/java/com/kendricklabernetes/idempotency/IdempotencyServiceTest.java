@@ -0,0 +1,181 @@
+package com.kendricklabernetes.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdempotencyServiceTest {
+    private JdbcIdempotencyStore store;
+    private IdempotencyService service;
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource ds = new DriverManagerDataSource(
+            "jdbc:h2:mem:idem-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        store = new JdbcIdempotencyStore(new JdbcTemplate(ds));
+        service = newService();
+    }
+
+    private IdempotencyService newService() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("store", store));
+        return new IdempotencyService(beans.getBeanProvider(IdempotencyStore.class), new ObjectMapper(),
+            100, 3600, 5000, 10, 60000);
+    }
+
+    private ResponseEntity<?> create() {
+        int n = writes.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("quoteNumber", n));
+    }
+
+    @Test
+    public void concurrentRequestsWithSameKeyWriteOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> service.execute("k1", Map.of("quote", "DNA"), () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return create();
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        int replayed = 0;
+        for (Future<ResponseEntity<?>> f : results) {
+            ResponseEntity<?> r = f.get(5, TimeUnit.SECONDS);
+            assertEquals(201, r.getStatusCode().value());
+            if (r.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)) {
+                replayed++;
+                assertEquals("{\"quoteNumber\":1}", r.getBody());
+            }
+        }
+        pool.shutdown();
+        assertEquals(1, writes.get());
+        assertEquals(7, replayed);
+    }
+
+    @Test
+    public void replaysFromStoreAfterRestartAndRejectsDifferentBody() {
+        service.execute("k2", Map.of("quote", "HUMBLE."), this::create);
+
+        IdempotencyService restarted = newService();
+        ResponseEntity<?> replay = restarted.execute("k2", Map.of("quote", "HUMBLE."), this::create);
+        assertEquals(201, replay.getStatusCode().value());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+
+        ResponseEntity<?> mismatch = restarted.execute("k2", Map.of("quote", "LOYALTY."), this::create);
+        assertEquals(422, mismatch.getStatusCode().value());
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    public void serverErrorsAreNotRemembered() {
+        ResponseEntity<?> failed = service.execute("k3", Map.of("quote", "ELEMENT."),
+            () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "down")));
+        assertEquals(503, failed.getStatusCode().value());
+        assertNull(store.find("k3"));
+
+        ResponseEntity<?> retried = service.execute("k3", Map.of("quote", "ELEMENT."), this::create);
+        assertEquals(201, retried.getStatusCode().value());
+        assertNull(retried.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void podsSharingAStoreTakeOverAnAbandonedKeyOnce() throws Exception {
+        // A pod died after reserving k5; two live pods (own in-process maps, one store) retry it.
+        assertTrue(store.reserve("k5", "dead-pod", 1L));
+        IdempotencyService podA = newService();
+        IdempotencyService podB = newService();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            IdempotencyService pod = i % 2 == 0 ? podA : podB;
+            results.add(pool.submit(() -> {
+                start.await();
+                return pod.execute("k5", Map.of("quote", "PRIDE."), this::create);
+            }));
+        }
+        start.countDown();
+        int replayed = 0;
+        for (Future<ResponseEntity<?>> f : results) {
+            ResponseEntity<?> r = f.get(10, TimeUnit.SECONDS);
+            assertEquals(201, r.getStatusCode().value());
+            if (r.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)) replayed++;
+        }
+        pool.shutdown();
+        assertEquals(1, writes.get());
+        assertEquals(7, replayed);
+        assertFalse(store.find("k5").isPending());
+    }
+
+    @Test
+    public void storeStartsWhileTheDatabaseIsDownAndCreatesItsTableOnFirstUse() {
+        AtomicBoolean down = new AtomicBoolean(true);
+        JdbcIdempotencyStore late = new JdbcIdempotencyStore(new JdbcTemplate(flakyDataSource(down)));
+        late.initialize();
+
+        down.set(false);
+        assertTrue(late.reserve("k4", "f", 1L));
+        assertEquals(StoredResponse.PENDING, late.find("k4").getStatus());
+    }
+
+    @Test
+    public void unreachableStoreAnswers503WithoutRunningTheAction() {
+        AtomicBoolean down = new AtomicBoolean(true);
+        store = new JdbcIdempotencyStore(new JdbcTemplate(flakyDataSource(down)));
+        IdempotencyService unavailable = newService();
+
+        ResponseEntity<?> response = unavailable.execute("k6", Map.of("quote", "FEAR."), this::create);
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals(0, writes.get());
+
+        down.set(false);
+        assertEquals(201, unavailable.execute("k6", Map.of("quote", "FEAR."), this::create).getStatusCode().value());
+        assertEquals(1, writes.get());
+    }
+
+    private static DataSource flakyDataSource(AtomicBoolean down) {
+        DriverManagerDataSource real = new DriverManagerDataSource(
+            "jdbc:h2:mem:idem-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        return new DelegatingDataSource(real) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (down.get()) throw new SQLException("connection refused");
+                return super.getConnection();
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.kendricklabernetes.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HotPathLogSamplerTest {
+
+    @Test
+    public void admitsAFixedNumberPerEndpointPerSecond() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HotPathLogSampler sampler = new HotPathLogSampler(registry, 3);
+
+        int admitted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sampler.admit("GET /api/quotes/latest", 100)) admitted++;
+        }
+        assertEquals(3, admitted, "log volume does not grow with request rate");
+        assertTrue(sampler.admit("POST /api/quotes", 100), "endpoints are sampled independently");
+        assertTrue(sampler.admit("GET /api/quotes/latest", 101), "budget resets every second");
+        assertEquals(997.0, registry.get("logging.hot_path.suppressed")
+            .tag("endpoint", "GET /api/quotes/latest").counter().count());
+    }
+
+    @Test
+    public void zeroBudgetSuppressesEverything() {
+        HotPathLogSampler sampler = new HotPathLogSampler(new SimpleMeterRegistry(), 0);
+        assertFalse(sampler.admit("GET /api/quotes", 1));
+    }
+}
@@ -0,0 +1,153 @@
+package com.kendricklabernetes.migration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MigrationJobTest {
+    private static final String DDL = "CREATE TABLE quoteh2 (id BIGINT AUTO_INCREMENT PRIMARY KEY, quote VARCHAR(255), "
+        + "timestamp VARCHAR(255), ip VARCHAR(255), quote_number INT NOT NULL)";
+
+    @TempDir
+    Path checkpointDir;
+
+    @Test
+    public void copiesAllRowsAndResumesFromCheckpoint() throws Exception {
+        String src = "jdbc:h2:mem:migsrc;DB_CLOSE_DELAY=-1";
+        String dst = "jdbc:h2:mem:migdst;DB_CLOSE_DELAY=-1";
+        try (Connection s = DriverManager.getConnection(src); Connection d = DriverManager.getConnection(dst)) {
+            s.createStatement().execute(DDL);
+            d.createStatement().execute(DDL);
+            try (PreparedStatement ps = s.prepareStatement(
+                    "INSERT INTO quoteh2 (quote, timestamp, ip, quote_number) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= 1234; i++) {
+                    ps.setString(1, "q" + i);
+                    ps.setString(2, "t");
+                    ps.setString(3, "127.0.0.1");
+                    ps.setInt(4, i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            MigrationEndpoint source = MigrationEndpoint.fromBody(Map.of("type", "h2", "connectionString", src), "source");
+            MigrationEndpoint target = MigrationEndpoint.fromBody(Map.of("type", "h2", "connectionString", dst), "target");
+            MigrationCheckpointStore store = new MigrationCheckpointStore(checkpointDir);
+            // Pretend an earlier run committed everything up to id 1000.
+            store.save("job", new MigrationCheckpoint(source.describe(), target.describe(), "1000", 1000, false));
+
+            MigrationJob job = new MigrationJob("job", source, target, 100, 3, store.load("job"), store,
+                e -> open(() -> new JdbcQuoteSource(e)), e -> open(() -> new JdbcQuoteSink(e)));
+            job.run();
+
+            assertEquals(MigrationJob.State.COMPLETED, job.getState());
+            MigrationCheckpoint cp = store.load("job");
+            assertTrue(cp.isCompleted());
+            assertEquals("1234", cp.getLastKey());
+            assertEquals(1234, cp.getRowsWritten());
+            try (Statement st = d.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COUNT(*), MIN(quote_number), MAX(quote_number) FROM quoteh2")) {
+                rs.next();
+                assertEquals(234, rs.getInt(1));
+                assertEquals(1001, rs.getInt(2));
+                assertEquals(1234, rs.getInt(3));
+            }
+        }
+    }
+
+    @Test
+    public void resumeAfterStopDoesNotDuplicateRewrittenChunks() throws Exception {
+        String src = "jdbc:h2:mem:migsrc2;DB_CLOSE_DELAY=-1";
+        String dst = "jdbc:h2:mem:migdst2;DB_CLOSE_DELAY=-1";
+        try (Connection s = DriverManager.getConnection(src); Connection d = DriverManager.getConnection(dst)) {
+            s.createStatement().execute(DDL);
+            d.createStatement().execute(DDL);
+            try (PreparedStatement ps = s.prepareStatement(
+                    "INSERT INTO quoteh2 (quote, timestamp, ip, quote_number) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= 1234; i++) {
+                    ps.setString(1, "q" + i);
+                    ps.setString(2, "2024-01-01T00:00:" + (i % 60) + "Z");
+                    ps.setString(3, "127.0.0.1");
+                    ps.setInt(4, i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            MigrationEndpoint source = MigrationEndpoint.fromBody(Map.of("type", "h2", "connectionString", src), "source");
+            MigrationEndpoint target = MigrationEndpoint.fromBody(Map.of("type", "h2", "connectionString", dst), "target");
+            MigrationCheckpointStore store = new MigrationCheckpointStore(checkpointDir);
+
+            // First run: the first chunk's writer loses the target only after later chunks were
+            // committed, so the job stops with those chunks written but not checkpointed.
+            AtomicInteger laterChunks = new AtomicInteger();
+            MigrationJob first = new MigrationJob("stop", source, target, 100, 3, null, store,
+                e -> open(() -> new JdbcQuoteSource(e)),
+                e -> {
+                    JdbcQuoteSink sink = open(() -> new JdbcQuoteSink(e));
+                    return new QuoteSink() {
+                        @Override
+                        public void writeChunk(java.util.List<QuoteRow> rows) throws Exception {
+                            if ("1".equals(rows.get(0).getKey())) {
+                                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                                while (laterChunks.get() < 3 && System.nanoTime() < deadline) Thread.sleep(5);
+                                throw new java.sql.SQLException("target went away");
+                            }
+                            sink.writeChunk(rows);
+                            laterChunks.incrementAndGet();
+                        }
+
+                        @Override
+                        public void close() {
+                            sink.close();
+                        }
+                    };
+                });
+            first.run();
+
+            assertEquals(MigrationJob.State.FAILED, first.getState());
+            assertNull(store.load("stop").getLastKey());
+            assertTrue(count(d, "SELECT COUNT(*) FROM quoteh2") >= 300, "later chunks were written before the stop");
+
+            MigrationJob resumed = new MigrationJob("stop", source, target, 100, 3, store.load("stop"), store,
+                e -> open(() -> new JdbcQuoteSource(e)), e -> open(() -> new JdbcQuoteSink(e)));
+            resumed.run();
+
+            assertEquals(MigrationJob.State.COMPLETED, resumed.getState());
+            assertEquals(count(s, "SELECT COUNT(*) FROM quoteh2"), count(d, "SELECT COUNT(*) FROM quoteh2"));
+            assertEquals(1234, count(d, "SELECT COUNT(DISTINCT quote_number) FROM quoteh2"));
+        }
+    }
+
+    private static int count(Connection c, String sql) throws Exception {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private interface Opener<T> {
+        T open() throws Exception;
+    }
+
+    private static <T> T open(Opener<T> opener) {
+        try {
+            return opener.open();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.kendricklabernetes.prometheus;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsConfigTest {
+    private final MetricsConfig config = new MetricsConfig();
+
+    private SimpleMeterRegistry registry(Map<String, Object> props) {
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("test", props));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.commonTags(env).customize(registry);
+        registry.config().meterFilter(config.latencyHistograms());
+        return registry;
+    }
+
+    @Test
+    public void everyMeterCarriesApplicationPodAndBackendTags() {
+        SimpleMeterRegistry registry = registry(Map.of("DB_TYPE", " Postgres ", "POD_NAME", "backend-7f9c"));
+        registry.counter("db_postgres_create_total").increment();
+
+        assertEquals(Tags.of("application", "kendrick-labernetes", "pod", "backend-7f9c", "backend", "postgres"),
+            Tags.of(registry.get("db_postgres_create_total").counter().getId().getTags()));
+    }
+
+    @Test
+    public void backendDefaultsToH2() {
+        SimpleMeterRegistry registry = registry(Map.of("POD_NAME", "p"));
+        registry.counter("db_h2_read_total").increment();
+
+        assertEquals("h2", registry.get("db_h2_read_total").counter().getId().getTag("backend"));
+    }
+
+    // SimpleMeterRegistry never publishes aggregable percentile buckets itself, so the filtered
+    // config is checked the way Prometheus consumes it (getHistogramBuckets(true)).
+    private DistributionStatisticConfig filtered(Meter.Id id) {
+        return config.latencyHistograms().configure(id, DistributionStatisticConfig.DEFAULT);
+    }
+
+    @Test
+    public void quoteRequestAndPoolTimersPublishHistogramBuckets() {
+        SimpleMeterRegistry registry = registry(Map.of("DB_TYPE", "h2", "POD_NAME", "p"));
+        Timer request = Timer.builder("http.server.requests").tags("uri", "/api/quotes", "method", "GET")
+            .register(registry);
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", "HikariPool-1")
+            .register(registry);
+
+        for (Timer timer : new Timer[] {request, acquire}) {
+            DistributionStatisticConfig dist = filtered(timer.getId());
+            assertTrue(dist.isPercentileHistogram(), timer.getId().getName() + " publishes a histogram");
+            double[] bucketsNanos = dist.getHistogramBuckets(true).stream().mapToDouble(Double::doubleValue).toArray();
+            assertTrue(bucketsNanos.length > 0, timer.getId().getName() + " has histogram buckets");
+            assertEquals(Duration.ofMillis(1).toNanos(), bucketsNanos[0], 1.0, "first bucket at the 1 ms minimum");
+            assertEquals(Duration.ofSeconds(30).toNanos(), bucketsNanos[bucketsNanos.length - 1], 1.0,
+                "last bucket at the 30 s maximum");
+        }
+    }
+
+    @Test
+    public void otherTimersAreLeftWithoutBuckets() {
+        SimpleMeterRegistry registry = registry(Map.of("DB_TYPE", "h2", "POD_NAME", "p"));
+        Timer probe = Timer.builder("db_health_probe_latency").register(registry);
+
+        assertFalse(Boolean.TRUE.equals(filtered(probe.getId()).isPercentileHistogram()));
+    }
+}
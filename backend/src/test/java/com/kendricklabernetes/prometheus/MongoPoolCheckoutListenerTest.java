@@ -0,0 +1,43 @@
+package com.kendricklabernetes.prometheus;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MongoPoolCheckoutListenerTest {
+
+    @Test
+    public void reusesOneTimerPerServerAndOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MongoPoolCheckoutListener listener = new MongoPoolCheckoutListener(registry);
+        ServerId server = new ServerId(new ClusterId(), new ServerAddress("m1", 27017));
+
+        for (int i = 1; i <= 3; i++) {
+            listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(server), i,
+                TimeUnit.MILLISECONDS.toNanos(i)));
+        }
+        listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(server, 4,
+            ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.MILLISECONDS.toNanos(500)));
+
+        Timer success = registry.get("mongodb.driver.pool.checkout").tag("server.address", "m1:27017")
+            .tag("outcome", "success").timer();
+        assertEquals(3, success.count());
+        assertEquals(6, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get("mongodb.driver.pool.checkout").tag("outcome", "timeout").timer().count());
+        assertEquals(2, registry.getMeters().size());
+
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(server), 5, 1));
+        assertSame(success, registry.get("mongodb.driver.pool.checkout").tag("outcome", "success").timer());
+    }
+}
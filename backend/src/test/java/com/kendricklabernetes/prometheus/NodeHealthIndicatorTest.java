@@ -0,0 +1,106 @@
+package com.kendricklabernetes.prometheus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NodeHealthIndicatorTest {
+    private static final int WINDOW = 64;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // Defaults: degraded-p95-ms=250, down-after-failures=3, timeout-ms=2000. The prober is never started.
+    private NodeHealthIndicator indicator() {
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("test", Map.of("DB_TYPE", "h2")));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new NodeHealthIndicator(env, beans.getBeanProvider(DataSource.class),
+            beans.getBeanProvider(MongoTemplate.class), registry);
+    }
+
+    private static void succeed(NodeHealthIndicator health, int times, long latencyMs) {
+        for (int i = 0; i < times; i++) health.record(true, latencyMs);
+    }
+
+    private double gauge() {
+        return registry.get("db_health_status").gauge().value();
+    }
+
+    @Test
+    public void unknownUntilTheFirstProbeThenUp() {
+        NodeHealthIndicator health = indicator();
+        assertEquals(Status.UNKNOWN, health.health().getStatus());
+        assertEquals(-1.0, gauge());
+
+        health.record(true, 5);
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(1.0, gauge());
+    }
+
+    @Test
+    public void singleFailureDegradesUntilEnoughSuccessesDrainIt() {
+        NodeHealthIndicator health = indicator();
+        succeed(health, WINDOW, 5);
+
+        health.record(false, 2000);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus());
+        assertEquals(0.5, gauge());
+
+        // Each failure adds WINDOW/8 to the recent-failure budget; each success removes one.
+        succeed(health, WINDOW / 8 - 1, 5);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus());
+        succeed(health, 1, 5);
+        assertEquals(Status.UP, health.health().getStatus());
+    }
+
+    @Test
+    public void consecutiveFailuresGoDownAndRecoverThroughDegraded() {
+        NodeHealthIndicator health = indicator();
+        succeed(health, WINDOW, 5);
+
+        health.record(false, 2000);
+        health.record(false, 2000);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus());
+        health.record(false, 2000);
+        assertEquals(Status.DOWN, health.health().getStatus());
+        assertEquals(0.0, gauge());
+        assertEquals(3, health.health().getDetails().get("consecutiveFailures"));
+
+        health.record(true, 5);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus());
+        // 3 failures left 3 * WINDOW/8 in the budget, one of which the success above drained.
+        succeed(health, 3 * WINDOW / 8 - 2, 5);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus());
+        succeed(health, 1, 5);
+        // The three timeout samples are still in the window but sit above the p95 rank.
+        assertEquals(Status.UP, health.health().getStatus());
+    }
+
+    @Test
+    public void slowWindowP95DegradesUntilTheSlowSamplesRollOut() {
+        NodeHealthIndicator health = indicator();
+        succeed(health, WINDOW - 4, 5);
+        succeed(health, 3, 300);
+        assertEquals(Status.UP, health.health().getStatus(), "3 slow samples of 64 stay above p95");
+
+        succeed(health, 1, 300);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus(), "4 slow samples of 64 reach p95");
+        assertEquals(300L, health.health().getDetails().get("p95Ms"));
+
+        // The ring buffer overwrites the oldest samples first; the slow ones are the last 4 written.
+        succeed(health, WINDOW - 4, 5);
+        assertEquals(NodeHealthIndicator.DEGRADED, health.health().getStatus());
+        succeed(health, 1, 5);
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(WINDOW, health.health().getDetails().get("samples"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.kendricklabernetes.resilience;
+
+import com.kendricklabernetes.controller.QuoteController;
+import com.kendricklabernetes.idempotency.IdempotencyService;
+import com.kendricklabernetes.model.h2.QuoteH2;
+import com.kendricklabernetes.prometheus.QuoteMetricsService;
+import com.kendricklabernetes.repository.h2.QuoteH2Repository;
+import com.kendricklabernetes.repository.mongo.QuoteMongoRepository;
+import com.kendricklabernetes.sampling.RandomQuoteService;
+import com.kendricklabernetes.tracing.Tracer;
+import com.kendricklabernetes.views.QuoteViewService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Wires the aspect the way the application does (auto-proxying over interface-only repository
+ * proxies, like the ones Spring Data creates) and drives a bulkhead of one permit.
+ */
+public class RepositoryGuardAspectTest {
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+    private AnnotationConfigApplicationContext ctx;
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class AopConfig {
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        caller.shutdownNow();
+        if (ctx != null) ctx.close();
+    }
+
+    /** An interface-only JDK proxy whose findById blocks until the test releases it. */
+    private <T> T repository(Class<T> type) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.addInterface(type);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "findById":
+                    entered.countDown();
+                    release.await();
+                    QuoteH2 quote = new QuoteH2();
+                    quote.setQuoteNumber(1);
+                    return Optional.of(quote);
+                case "count":
+                    return 0L;
+                default:
+                    throw new UnsupportedOperationException(invocation.getMethod().getName());
+            }
+        });
+        return type.cast(factory.getProxy(getClass().getClassLoader()));
+    }
+
+    private void start() {
+        ctx = new AnnotationConfigApplicationContext();
+        ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+            "DB_TYPE", "h2",
+            "store.bulkhead.max-concurrent", "1",
+            "store.bulkhead.max-wait-ms", "0")));
+        ctx.register(AopConfig.class, RepositoryGuardAspect.class, StoreGuards.class, QuoteController.class,
+            QuoteMetricsService.class);
+        ctx.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        ctx.registerBean(QuoteH2Repository.class, () -> repository(QuoteH2Repository.class));
+        ctx.registerBean(QuoteMongoRepository.class, () -> repository(QuoteMongoRepository.class));
+        ctx.registerBean(QuoteViewService.class, () -> mock(QuoteViewService.class));
+        ctx.registerBean(IdempotencyService.class, () -> mock(IdempotencyService.class));
+        ctx.registerBean(RandomQuoteService.class, () -> mock(RandomQuoteService.class));
+        ctx.registerBean(Tracer.class, () -> mock(Tracer.class));
+        ctx.refresh();
+    }
+
+    private Future<?> blockInside(Runnable call) throws InterruptedException {
+        Future<?> blocked = caller.submit(call);
+        assertTrue(entered.await(5, TimeUnit.SECONDS), "first call reached the repository");
+        return blocked;
+    }
+
+    @Test
+    public void pointcutsMatchRepositoryProxiesAndPickTheirStore() throws Exception {
+        start();
+        StoreGuards guards = ctx.getBean(StoreGuards.class);
+        MeterRegistry registry = ctx.getBean(MeterRegistry.class);
+        assertNull(registry.find("store_circuit_state").gauge(), "guards are created on first use");
+
+        ctx.getBean(QuoteH2Repository.class).count();
+        ctx.getBean(QuoteMongoRepository.class).count();
+        assertNotNull(registry.find("store_circuit_state").tag("store", "h2").gauge());
+        assertNotNull(registry.find("store_circuit_state").tag("store", "mongo").gauge());
+
+        QuoteMongoRepository mongo = ctx.getBean(QuoteMongoRepository.class);
+        Future<?> blocked = blockInside(() -> mongo.findById("a"));
+        assertEquals(1, guards.forStore("mongo").getInFlight(), "mongo repository runs inside the mongo guard");
+        assertEquals(0, guards.forStore("h2").getInFlight());
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        assertEquals(0, guards.forStore("mongo").getInFlight());
+    }
+
+    @Test
+    public void fullBulkheadRejectsAndTheControllerAnswers503() throws Exception {
+        start();
+        QuoteH2Repository repo = ctx.getBean(QuoteH2Repository.class);
+        Future<?> blocked = blockInside(() -> repo.findById(1L));
+        assertEquals(1, ctx.getBean(StoreGuards.class).forStore("h2").getInFlight());
+
+        StoreUnavailableException rejected = assertThrows(StoreUnavailableException.class, () -> repo.findById(2L));
+        assertTrue(rejected.getMessage().contains("concurrency limit"), rejected.getMessage());
+
+        ResponseEntity<?> response = ctx.getBean(QuoteController.class).getQuoteById("2");
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(2.0, ctx.getBean(MeterRegistry.class).get("store_calls_rejected_total")
+            .tag("store", "h2").tag("reason", "bulkhead_full").counter().count());
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.OK, ctx.getBean(QuoteController.class).getQuoteById("2").getStatusCode());
+    }
+}
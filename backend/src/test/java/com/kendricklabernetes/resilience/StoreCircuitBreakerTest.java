@@ -0,0 +1,78 @@
+package com.kendricklabernetes.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StoreCircuitBreakerTest {
+    private static final long MS = 1_000_000;
+
+    @Test
+    public void opensOnFailuresAndClosesAfterSuccessfulHalfOpenTrials() {
+        List<String> transitions = new ArrayList<>();
+        StoreCircuitBreaker breaker = new StoreCircuitBreaker(10, 4, 50, 100, 1000, 5000, 2,
+            (from, to) -> transitions.add(from + "->" + to));
+        long now = 0;
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquire(now));
+            breaker.record(i % 2 == 0, MS, now);
+        }
+        assertEquals(StoreCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(now + 1000 * MS), "open circuit rejects calls");
+
+        now += 5000 * MS;
+        assertTrue(breaker.tryAcquire(now));
+        assertTrue(breaker.tryAcquire(now));
+        assertFalse(breaker.tryAcquire(now), "only half-open-calls trial permits");
+        breaker.record(false, MS, now);
+        breaker.record(false, MS, now);
+
+        assertEquals(StoreCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    public void slowCallsOpenTheCircuitAndFailedTrialReopensIt() {
+        StoreCircuitBreaker breaker = new StoreCircuitBreaker(10, 3, 50, 60, 100, 1000, 1, null);
+        for (int i = 0; i < 3; i++) {
+            breaker.tryAcquire(0);
+            breaker.record(false, 500 * MS, 0);
+        }
+        assertEquals(StoreCircuitBreaker.State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquire(1000 * MS));
+        breaker.record(true, MS, 1000 * MS);
+        assertEquals(StoreCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void hungTrialReopensTheCircuitInsteadOfHoldingHalfOpen() {
+        StoreCircuitBreaker breaker = new StoreCircuitBreaker(10, 2, 50, 100, 100, 1000, 1, null);
+        for (int i = 0; i < 2; i++) {
+            breaker.tryAcquire(0);
+            breaker.record(true, MS, 0);
+        }
+        long now = 1000 * MS;
+        assertTrue(breaker.tryAcquire(now), "trial permit after the open duration");
+        assertFalse(breaker.tryAcquire(now + 99 * MS), "trial still within the slow-call limit");
+        assertEquals(StoreCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        assertFalse(breaker.tryAcquire(now + 100 * MS));
+        assertEquals(StoreCircuitBreaker.State.OPEN, breaker.getState(), "overdue trial re-opens the circuit");
+
+        // The hung call returning late is ignored while open...
+        breaker.record(false, 150 * MS, now + 150 * MS);
+        assertEquals(StoreCircuitBreaker.State.OPEN, breaker.getState());
+        // ...and a fresh round of trials can close the circuit again.
+        now += 1100 * MS;
+        assertTrue(breaker.tryAcquire(now));
+        breaker.record(false, MS, now);
+        assertEquals(StoreCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
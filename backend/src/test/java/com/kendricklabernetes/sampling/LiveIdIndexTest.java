@@ -0,0 +1,53 @@
+package com.kendricklabernetes.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LiveIdIndexTest {
+
+    @Test
+    public void staysUniformAfterManyDeletes() {
+        LiveIdIndex index = new LiveIdIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.add(Integer.toString(i));
+        }
+        // Keep only multiples of 50: 20 survivors scattered across the original array.
+        for (int i = 0; i < 1000; i++) {
+            if (i % 50 != 0) assertTrue(index.remove(Integer.toString(i)));
+        }
+        assertFalse(index.remove("7"), "remove is idempotent");
+        assertFalse(index.add("0"), "add is idempotent");
+        assertEquals(20, index.size());
+
+        Random random = new Random(42);
+        Map<String, Integer> hits = new HashMap<>();
+        int draws = 200_000;
+        for (int i = 0; i < draws; i++) {
+            hits.merge(index.sample(random), 1, Integer::sum);
+        }
+        assertEquals(20, hits.size());
+        double expected = draws / 20.0;
+        double chiSquare = 0;
+        for (int count : hits.values()) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // 19 degrees of freedom: p = 0.001 critical value is ~43.8.
+        assertTrue(chiSquare < 43.8, "chi-square " + chiSquare);
+    }
+
+    @Test
+    public void emptyIndexSamplesNull() {
+        LiveIdIndex index = new LiveIdIndex();
+        index.add("a");
+        index.remove("a");
+        assertNull(index.sample(new Random()));
+    }
+}
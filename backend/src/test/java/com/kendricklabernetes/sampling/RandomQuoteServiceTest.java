@@ -0,0 +1,64 @@
+package com.kendricklabernetes.sampling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RandomQuoteServiceTest {
+
+    @Test
+    public void requestsDoNotRescanADownStoreBeforeTheBackoffExpires() throws Exception {
+        AtomicBoolean down = new AtomicBoolean(true);
+        AtomicInteger scans = new AtomicInteger();
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        QuoteIdSource source = () -> {
+            scans.incrementAndGet();
+            if (!down.get()) return List.of("a");
+            scanning.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("store down");
+        };
+        RandomQuoteService service = new RandomQuoteService(
+            new StaticListableBeanFactory(Map.of("source", source)).getBeanProvider(QuoteIdSource.class), false, 300);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        Future<?> first = pool.submit(service::pick);
+        scanning.await(5, TimeUnit.SECONDS);
+        List<Future<?>> others = new ArrayList<>();
+        for (int i = 0; i < 8; i++) others.add(pool.submit(service::pick));
+        for (Future<?> f : others) {
+            // rejected straight away instead of queueing behind the running scan
+            assertThrows(Exception.class, () -> f.get(5, TimeUnit.SECONDS));
+        }
+        release.countDown();
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(1, scans.get(), "one scan while the store is down");
+
+        down.set(false);
+        assertThrows(IllegalStateException.class, service::pick, "still inside the backoff");
+        assertEquals(1, scans.get());
+
+        Thread.sleep(350);
+        assertEquals("a", service.pick());
+        assertEquals(2, scans.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.kendricklabernetes.snapshot;
+
+import com.kendricklabernetes.migration.QuoteRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QuoteSnapshotTest {
+    @TempDir
+    Path dir;
+
+    private Path write(int rows) throws IOException {
+        Path file = dir.resolve("q" + SnapshotService.EXTENSION);
+        try (QuoteSnapshotWriter writer = new QuoteSnapshotWriter(file)) {
+            // Quote numbers written out of order to exercise the sorted index.
+            for (int i = rows; i >= 1; i--) {
+                writer.append(new QuoteRow(Integer.toString(i), "Sit down, be humble — #" + i,
+                    "2024-01-01T00:00:00Z", i % 2 == 0 ? null : "10.0.0." + i, i));
+            }
+            writer.finish();
+        }
+        return file;
+    }
+
+    @Test
+    public void roundTripsRowsAndLooksUpByQuoteNumber() throws IOException {
+        QuoteSnapshot snapshot = QuoteSnapshot.open(write(2500));
+        assertEquals(2500, snapshot.size());
+
+        QuoteRow row = snapshot.findByQuoteNumber(1234);
+        assertEquals("Sit down, be humble — #1234", row.getQuote());
+        assertNull(row.getIp());
+        assertEquals("10.0.0.7", snapshot.findByQuoteNumber(7).getIp());
+        assertNull(snapshot.findByQuoteNumber(99_999));
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        snapshot.forEachChunk(1000, chunk -> chunkSizes.add(chunk.size()));
+        assertEquals(List.of(1000, 1000, 500), chunkSizes);
+    }
+
+    @Test
+    public void rejectsCorruptedFile() throws IOException {
+        Path file = write(10);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] {42}), QuoteSnapshot.HEADER_SIZE + 10);
+        }
+        IOException e = assertThrows(IOException.class, () -> QuoteSnapshot.open(file));
+        assertEquals("Snapshot checksum mismatch: " + file, e.getMessage());
+    }
+}
@@ -0,0 +1,49 @@
+package com.kendricklabernetes.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TracerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void sampledTraceRecordsNestedSpans() {
+        Tracer tracer = new Tracer(true, 1.0, 8, 4);
+        int root = tracer.startTrace("POST", "/api/quotes", false);
+        int controller = tracer.begin("QuoteController.addQuote");
+        int next = tracer.begin("getNextQuoteNumber");
+        tracer.end(tracer.begin("repo QuoteH2Repository.count"));
+        tracer.end(next);
+        tracer.end(controller);
+        tracer.finishTrace(root, 200);
+        assertEquals(-1, tracer.begin("outside a request"));
+
+        List<TraceRecord> recent = (List<TraceRecord>) tracer.snapshot(10).get("recent");
+        assertEquals(1, recent.size());
+        List<TraceRecord.SpanRecord> spans = recent.get(0).getSpans();
+        assertEquals(4, spans.size());
+        assertEquals("repo QuoteH2Repository.count", spans.get(3).getName());
+        assertEquals(3, spans.get(3).getDepth());
+        assertTrue(spans.get(3).getDurationMicros() >= 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void unsampledTracesOnlyKeptWhenAmongSlowest() throws Exception {
+        Tracer tracer = new Tracer(true, 0.0, 8, 2);
+        for (int sleepMs : new int[] {30, 1, 20, 5, 10}) {
+            int root = tracer.startTrace("GET", "/api/quotes/" + sleepMs, false);
+            Thread.sleep(sleepMs);
+            tracer.finishTrace(root, 200);
+        }
+        Map<String, Object> dump = tracer.snapshot(10);
+        assertTrue(((List<TraceRecord>) dump.get("recent")).isEmpty());
+        List<TraceRecord> slowest = (List<TraceRecord>) dump.get("slowest");
+        assertEquals(List.of("/api/quotes/30", "/api/quotes/20"), slowest.stream().map(TraceRecord::getPath).toList());
+    }
+}
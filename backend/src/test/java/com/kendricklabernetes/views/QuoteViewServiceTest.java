@@ -0,0 +1,124 @@
+package com.kendricklabernetes.views;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuoteViewServiceTest {
+
+    private static JdbcTemplate h2() {
+        return new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:views-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    private static QuoteViewService service(QuoteViewStore store) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("store", store));
+        return new QuoteViewService(beans.getBeanProvider(QuoteViewStore.class), 10, 4, 1024);
+    }
+
+    private static void view(QuoteViewService service, int quoteNumber, int times) {
+        for (int i = 0; i < times; i++) service.recordView(quoteNumber);
+    }
+
+    @Test
+    public void flushUpsertsDeltasWithStandardMerge() {
+        JdbcQuoteViewStore store = new JdbcQuoteViewStore(h2(), false);
+        QuoteViewService service = service(store);
+
+        view(service, 1, 3);
+        view(service, 2, 1);
+        service.flush();
+        view(service, 1, 2);
+        service.flush();
+
+        assertEquals(Map.of(1, 5L, 2, 1L), store.loadAll());
+        assertEquals(1, service.top(1).get(0).getQuoteNumber());
+    }
+
+    @Test
+    public void flushUpsertsDeltasWithPostgresOnConflict() throws Exception {
+        try (EmbeddedPostgres pg = EmbeddedPostgres.start()) {
+            JdbcQuoteViewStore store = new JdbcQuoteViewStore(new JdbcTemplate(pg.getPostgresDatabase()), true);
+            QuoteViewService service = service(store);
+
+            view(service, 7, 4);
+            service.flush();
+            view(service, 7, 1);
+            view(service, 8, 2);
+            service.flush();
+
+            assertEquals(Map.of(7, 5L, 8, 2L), store.loadAll());
+        }
+    }
+
+    @Test
+    public void failedFlushIsRetriedWithTheNextOne() {
+        JdbcQuoteViewStore backing = new JdbcQuoteViewStore(h2(), false);
+        AtomicBoolean down = new AtomicBoolean(true);
+        QuoteViewStore flaky = new QuoteViewStore() {
+            @Override
+            public void addAll(Map<Integer, Long> deltas) {
+                if (down.get()) throw new IllegalStateException("store down");
+                backing.addAll(deltas);
+            }
+
+            @Override
+            public Map<Integer, Long> loadAll() {
+                return backing.loadAll();
+            }
+        };
+        QuoteViewService service = service(flaky);
+
+        view(service, 3, 2);
+        service.flush();
+        assertTrue(backing.loadAll().isEmpty());
+        assertEquals(2, service.top(1).get(0).getViews(), "top-K is updated even when the store write fails");
+
+        down.set(false);
+        view(service, 3, 1);
+        service.flush();
+        assertEquals(Map.of(3, 3L), backing.loadAll());
+
+        // Nothing left over: an idle flush writes nothing more.
+        service.flush();
+        assertEquals(Map.of(3, 3L), backing.loadAll());
+    }
+
+    @Test
+    public void storeStartsWhileTheDatabaseIsDownAndCreatesItsTableOnFirstUse() {
+        DriverManagerDataSource real = new DriverManagerDataSource(
+            "jdbc:h2:mem:views-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        AtomicBoolean down = new AtomicBoolean(true);
+        DataSource flaky = new DelegatingDataSource(real) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (down.get()) throw new SQLException("connection refused");
+                return super.getConnection();
+            }
+        };
+        JdbcQuoteViewStore store = new JdbcQuoteViewStore(new JdbcTemplate(flaky), false);
+        store.initialize();
+        QuoteViewService service = service(store);
+        service.warmUp();
+
+        view(service, 5, 2);
+        service.flush();
+        down.set(false);
+        service.flush();
+        assertEquals(Map.of(5, 2L), store.loadAll());
+    }
+}
@@ -0,0 +1,30 @@
+package com.kendricklabernetes.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopKTrackerTest {
+
+    @Test
+    public void keepsHeaviestQuotesInDescendingOrder() {
+        TopKTracker tracker = new TopKTracker(3, new CountMinSketch(4, 1024));
+        for (int q = 1; q <= 500; q++) {
+            tracker.add(q, 1);
+        }
+        tracker.add(42, 100);
+        tracker.add(7, 50);
+        tracker.add(300, 75);
+        tracker.add(7, 40);
+
+        List<TopKTracker.Entry> top = tracker.snapshot();
+        assertEquals(3, top.size());
+        assertEquals(42, top.get(0).getQuoteNumber());
+        assertEquals(7, top.get(1).getQuoteNumber());
+        assertEquals(300, top.get(2).getQuoteNumber());
+        assertTrue(top.get(1).getViews() >= 91, "sketch never undercounts");
+    }
+}
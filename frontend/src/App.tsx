@@ -195,7 +195,7 @@ const App: React.FC = () => {
           <h2 style={{ fontWeight: 700, fontSize: 28, marginBottom: 8 }}>Latest Quote</h2>
           <p style={{ fontSize: 22, fontWeight: 500 }}>{latestQuote.quote}</p>
           <small>Timestamp: {latestQuote.timestamp}</small><br/>
-          <small>IP: {latestQuote.ip}</small><br/>
+          {latestQuote.ip && <><small>IP: {latestQuote.ip}</small><br/></>}
           <small>Quote #: {latestQuote.quoteNumber}</small>
         </div>
       )}
@@ -210,7 +210,7 @@ const App: React.FC = () => {
                 <span style={{ position: 'absolute', top: 8, right: 12, cursor: 'pointer', color: '#ffbaba', fontWeight: 700, fontSize: 18 }} onClick={() => handleDeleteQuote(q.id)}>&times;</span>
                 <div style={{ fontSize: 18, fontWeight: 500, marginBottom: 6 }}>{q.quote}</div>
                 <div style={{ fontSize: 13, opacity: 0.8 }}>#{q.quoteNumber} | {q.timestamp}</div>
-                <div style={{ fontSize: 12, opacity: 0.7 }}>IP: {q.ip}</div>
+                {q.ip && <div style={{ fontSize: 12, opacity: 0.7 }}>IP: {q.ip}</div>}
               </div>
             ))
           )}